@@ -0,0 +1,293 @@
+package com.heron.patternlibrary.processor;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.util.TreeScanner;
+import com.sun.source.util.Trees;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes an index of all {@code @PatternLibraryComponents} controllers and
+ * their {@code GET} endpoints to {@value #INDEX_LOCATION}, so the pattern
+ * library does not have to discover (or call) the endpoints at runtime.
+ *
+ * The index contains one tab separated record per line:
+ *
+ * <pre>
+ * group    controller  name  docs     order
+ * example  controller  uri   variant  name   view  renderMillis  htmlBytes  domNodes  cacheable
+ * </pre>
+ *
+ * The budget of an example is read from {@code @PerformanceBudget} on the
+ * method or on the controller, {@code 0} meaning no limit. An example is
+ * cacheable if its method is annotated with {@code @CacheableExample}, or else
+ * if its controller is {@code cacheable}.
+ */
+@SupportedAnnotationTypes(PatternLibraryComponentsProcessor.PATTERN_LIBRARY_COMPONENTS)
+public class PatternLibraryComponentsProcessor extends AbstractProcessor {
+
+  static final String PATTERN_LIBRARY_COMPONENTS = "com.heron.patternlibrary.annotations.PatternLibraryComponents";
+  static final String PERFORMANCE_BUDGET = "com.heron.patternlibrary.annotations.PerformanceBudget";
+  static final String CACHEABLE_EXAMPLE = "com.heron.patternlibrary.annotations.CacheableExample";
+  private static final String[] BUDGET_LIMITS = {"renderMillis", "htmlBytes", "domNodes"};
+  static final String INDEX_LOCATION = "META-INF/pattern-library/components.idx";
+
+  private static final String REQUEST_MAPPING = "org.springframework.web.bind.annotation.RequestMapping";
+  private static final String GET_MAPPING = "org.springframework.web.bind.annotation.GetMapping";
+  private static final String MODEL_AND_VIEW = "ModelAndView";
+
+  private final List<String> records = new ArrayList<>();
+
+  private Trees trees;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    try {
+      trees = Trees.instance(processingEnv);
+    } catch (IllegalArgumentException e) {
+      // Not running inside of javac, so the view names can't be read from the method bodies
+      trees = null;
+    }
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() == ElementKind.CLASS) {
+          indexController((TypeElement) element);
+        }
+      }
+    }
+
+    if (roundEnv.processingOver()) {
+      writeIndex();
+    }
+    return false;
+  }
+
+  private void indexController(TypeElement controller) {
+    AnnotationMirror components = findAnnotation(controller, PATTERN_LIBRARY_COMPONENTS).orElseThrow(IllegalStateException::new);
+    String controllerName = controller.getQualifiedName().toString();
+
+    // Remove "Controller" from class name to get name for category
+    String groupName = controller.getSimpleName().toString().replaceAll("Controller", "");
+    records.add(record("group", controllerName, groupName,
+        String.valueOf(value(components, "docs")), String.valueOf(value(components, "order"))));
+
+    String prefix = findAnnotation(controller, REQUEST_MAPPING).map(this::firstPath).orElse("");
+    Optional<AnnotationMirror> controllerBudget = findAnnotation(controller, PERFORMANCE_BUDGET);
+
+    for (ExecutableElement method : ElementFilter.methodsIn(controller.getEnclosedElements())) {
+      Optional<AnnotationMirror> mapping = getMapping(method);
+      if (!mapping.isPresent()) {
+        continue;
+      }
+
+      String uri = joinPaths(prefix, firstPath(mapping.get()));
+      String[] parts = uri.split("--", 2);
+      String variant = parts.length > 1 ? parts[1] : "";
+
+      Optional<String> view = extractView(method);
+      if (!view.isPresent()) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+            "Could not determine the template of this pattern library example. "
+                + "Return a view name literal or a new ModelAndView with a view name literal.", method);
+      }
+
+      Optional<AnnotationMirror> methodBudget = findAnnotation(method, PERFORMANCE_BUDGET);
+      List<String> fields = new ArrayList<>(Arrays.asList("example", controllerName, uri, variant,
+          extractNameFromMethod(method.getSimpleName().toString()), view.orElse("")));
+      for (String limit : BUDGET_LIMITS) {
+        fields.add(String.valueOf(budgetLimit(methodBudget, limit)
+            .orElseGet(() -> budgetLimit(controllerBudget, limit).orElse(0L))));
+      }
+      fields.add(String.valueOf(findAnnotation(method, CACHEABLE_EXAMPLE)
+          .map(cacheable -> value(cacheable, "value"))
+          .orElseGet(() -> value(components, "cacheable"))));
+      records.add(record(fields.toArray(new String[0])));
+    }
+  }
+
+  // A limit of 0 isn't set, so the limit of the controller applies
+  private Optional<Long> budgetLimit(Optional<AnnotationMirror> budget, String limit) {
+    return budget.map(b -> ((Number) value(b, limit)).longValue()).filter(value -> value > 0);
+  }
+
+  private Optional<AnnotationMirror> getMapping(ExecutableElement method) {
+    Optional<AnnotationMirror> getMapping = findAnnotation(method, GET_MAPPING);
+    if (getMapping.isPresent()) {
+      return getMapping;
+    }
+
+    return findAnnotation(method, REQUEST_MAPPING)
+        .filter(mapping -> {
+          List<?> methods = (List<?>) value(mapping, "method");
+          return methods.isEmpty() || methods.stream().anyMatch(m -> m.toString().endsWith("GET"));
+        });
+  }
+
+  private Optional<String> extractView(ExecutableElement method) {
+    if (trees == null) {
+      return Optional.empty();
+    }
+
+    MethodTree tree = trees.getTree(method);
+    if (tree == null || tree.getBody() == null) {
+      return Optional.empty();
+    }
+
+    List<String> views = new ArrayList<>();
+    new TreeScanner<Void, Void>() {
+      @Override
+      public Void visitReturn(ReturnTree node, Void unused) {
+        viewName(node.getExpression()).ifPresent(views::add);
+        return null;
+      }
+
+      // Return statements of lambdas and nested classes don't return from the handler method
+      @Override
+      public Void visitLambdaExpression(LambdaExpressionTree node, Void unused) {
+        return null;
+      }
+
+      @Override
+      public Void visitClass(ClassTree node, Void unused) {
+        return null;
+      }
+    }.scan(tree.getBody(), null);
+
+    return views.stream().findFirst();
+  }
+
+  private static Optional<String> viewName(ExpressionTree expression) {
+    if (expression instanceof LiteralTree && ((LiteralTree) expression).getValue() instanceof String) {
+      return Optional.of((String) ((LiteralTree) expression).getValue());
+    }
+
+    if (expression instanceof NewClassTree) {
+      NewClassTree newClass = (NewClassTree) expression;
+      if (newClass.getIdentifier().toString().endsWith(MODEL_AND_VIEW) && !newClass.getArguments().isEmpty()) {
+        return viewName(newClass.getArguments().get(0));
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  private void writeIndex() {
+    if (records.isEmpty()) {
+      return;
+    }
+
+    try {
+      FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+      try (Writer writer = new OutputStreamWriter(index.openOutputStream(), UTF_8)) {
+        for (String record : records) {
+          writer.write(record);
+          writer.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Could not write " + INDEX_LOCATION + ": " + e.getMessage());
+    }
+  }
+
+  private static Optional<AnnotationMirror> findAnnotation(Element element, String annotationType) {
+    return element.getAnnotationMirrors()
+        .stream()
+        .filter(a -> ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType))
+        .map(a -> (AnnotationMirror) a)
+        .findFirst();
+  }
+
+  private Object value(AnnotationMirror annotation, String attribute) {
+    return processingEnv.getElementUtils()
+        .getElementValuesWithDefaults(annotation)
+        .entrySet()
+        .stream()
+        .filter(e -> e.getKey().getSimpleName().contentEquals(attribute))
+        .map(e -> e.getValue().getValue())
+        .findFirst()
+        .orElse(null);
+  }
+
+  // Just like Spring, only the first path of a mapping is used for the pattern library
+  private String firstPath(AnnotationMirror mapping) {
+    return Stream.of("value", "path")
+        .map(attribute -> (List<?>) value(mapping, attribute))
+        .filter(paths -> paths != null && !paths.isEmpty())
+        .map(paths -> String.valueOf(((AnnotationValue) paths.get(0)).getValue()))
+        .findFirst()
+        .orElse("");
+  }
+
+  static String joinPaths(String prefix, String path) {
+    String uri = Stream.of(prefix, path)
+        .filter(p -> !p.isEmpty())
+        .map(p -> p.startsWith("/") ? p : "/" + p)
+        .map(p -> p.endsWith("/") && p.length() > 1 ? p.substring(0, p.length() - 1) : p)
+        .collect(Collectors.joining());
+    return uri.isEmpty() ? "/" : uri;
+  }
+
+  // Same as PatternLibraryController#extractNameFromMethod, which isn't available to the processor
+  static String extractNameFromMethod(String name) {
+    String[] split = name.split("_");
+    if (split.length > 1) {
+      name = split[1];
+    }
+
+    Matcher m = Pattern.compile("(?<=[a-z])[A-Z]").matcher(name);
+    String result = m.replaceAll(match -> " " + match.group());
+    return result.isEmpty() ? result : Character.toUpperCase(result.charAt(0)) + result.substring(1);
+  }
+
+  private static String record(String... fields) {
+    return Stream.of(fields)
+        .map(field -> field.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n"))
+        .collect(Collectors.joining("\t"));
+  }
+}
@@ -0,0 +1,40 @@
+package com.heron.patternlibrary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+public class ControllerUtilsBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class MethodNames {
+    @Param({"alerts", "pagination_firstPage", "flexWrapWithManyItems"})
+    private String methodName;
+  }
+
+  @State(Scope.Benchmark)
+  public static class Docs {
+    @Param({"intro.md", "bootstrap.md", "containers.md"})
+    private String doc;
+
+    private String markdown;
+
+    @Setup
+    public void setUp() {
+      markdown = PatternLibraryController.extractResource("classpath:/docs/" + doc)
+          .orElseThrow(() -> new IllegalStateException("Missing doc=" + doc));
+    }
+  }
+
+  @Benchmark
+  public String extractNameFromMethod(MethodNames methodNames) {
+    return PatternLibraryController.extractNameFromMethod(methodNames.methodName);
+  }
+
+  @Benchmark
+  public String markdownToHTML(Docs docs) {
+    return PatternLibraryController.markdownToHTML(docs.markdown);
+  }
+}
@@ -0,0 +1,59 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.cache.DocumentationCache;
+import com.heron.patternlibrary.cache.TemplateSourceCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the registry from a synthetic index of {@code endpoints} examples,
+ * spread over 20 {@code @PatternLibraryComponents} controllers with three
+ * variants per component.
+ */
+@State(Scope.Benchmark)
+public class RegistryBenchmark {
+
+  @Param({"1000"})
+  private int endpoints;
+
+  private List<String> lines;
+  private PatternLibraryIndex index;
+
+  private final DocumentationCache documentation = new DocumentationCache(500);
+  private final TemplateSourceCache templateSources = new TemplateSourceCache(1000);
+
+  @Setup
+  public void setUp() {
+    lines = new ArrayList<>();
+    int groups = 20;
+    for (int g = 0; g < groups; g++) {
+      String controller = "com.example.Group" + g + "Controller";
+      lines.add(String.join("\t", "group", controller, "Group" + g, "group" + g + ".md", Integer.toString(g)));
+      for (int e = 0; e < endpoints / groups; e++) {
+        String component = "/group" + g + "/component" + (e / 4);
+        String variant = e % 4 == 0 ? "" : "variant" + e;
+        lines.add(String.join("\t", "example", controller, variant.isEmpty() ? component : component + "--" + variant,
+            variant, "Component " + e, "components/group" + g + "/component" + (e / 4)));
+      }
+    }
+    index = PatternLibraryIndex.parse(lines);
+  }
+
+  @Benchmark
+  public PatternLibraryIndex parseIndex() {
+    return PatternLibraryIndex.parse(lines);
+  }
+
+  @Benchmark
+  public List<PatternLibraryGroup> buildRegistry() {
+    return PatternLibraryRegistry.build(index, "/docs/", "/templates/", documentation, templateSources);
+  }
+}
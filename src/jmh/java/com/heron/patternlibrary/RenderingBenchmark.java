@@ -0,0 +1,47 @@
+package com.heron.patternlibrary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Renders pattern library pages end to end through the DispatcherServlet
+ * (handler, Thymeleaf and the layout dialect), without the HTTP overhead.
+ */
+@State(Scope.Benchmark)
+public class RenderingBenchmark {
+
+  @Param({"/?uri=/bootstrap/pagination", "/bootstrap/pagination", "/bootstrap/pagination--many-pages"})
+  private String url;
+
+  private ConfigurableApplicationContext context;
+  private MockMvc mockMvc;
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class)
+        .properties("server.port=0", "logging.level.root=warn")
+        .run();
+    mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public String render() throws Exception {
+    return mockMvc.perform(get(url)).andReturn().getResponse().getContentAsString();
+  }
+}
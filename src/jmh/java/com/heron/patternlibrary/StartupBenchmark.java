@@ -0,0 +1,59 @@
+package com.heron.patternlibrary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application in a new JVM until it is ready, i.e. until every page
+ * has been warmed up, with and without the class data sharing archive of the
+ * {@code cdsArchive} task. The classpath and the archive are passed by the
+ * {@code startupBenchmark} task, the {@code jmh} task skips this benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+
+  @Param({"default", "cds"})
+  private String mode;
+
+  @Benchmark
+  public int startUntilReady() throws Exception {
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-cp");
+    command.add(System.getProperty("patternlibrary.startup.classpath"));
+    if (mode.equals("cds")) {
+      command.add("-XX:SharedArchiveFile=" + System.getProperty("patternlibrary.startup.archive"));
+    }
+    command.add(Application.class.getName());
+    command.add("--server.port=0");
+    command.add("--logging.level.root=warn");
+    command.add("--patternlibrary.warmup.enabled=true");
+    command.add("--patternlibrary.warmup.exit=true");
+
+    Process process = new ProcessBuilder(command)
+        .redirectErrorStream(true)
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .start();
+    int exitCode = process.waitFor();
+    if (exitCode != 0) {
+      throw new IllegalStateException("The application exited with code=" + exitCode);
+    }
+    return exitCode;
+  }
+}
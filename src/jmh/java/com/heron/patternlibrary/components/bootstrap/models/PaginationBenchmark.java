@@ -0,0 +1,35 @@
+package com.heron.patternlibrary.components.bootstrap.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+public class PaginationBenchmark {
+
+  @Param({"100", "100000", "1000000000"})
+  private int totalItems;
+
+  private static final int PAGE_SIZE = 10;
+
+  @Benchmark
+  public void create(Blackhole blackhole) {
+    render(Pagination.create(totalItems / PAGE_SIZE / 2, PAGE_SIZE, totalItems, index -> "?page=" + index), blackhole);
+  }
+
+  @Benchmark
+  public void windowed(Blackhole blackhole) {
+    render(Pagination.windowed(totalItems / PAGE_SIZE / 2, PAGE_SIZE, totalItems, 2, index -> "?page=" + index), blackhole);
+  }
+
+  // Accesses every link just like the template does
+  private static void render(Pagination pagination, Blackhole blackhole) {
+    blackhole.consume(pagination.getPrevious().getHref());
+    for (Pagination.PageLink page : pagination.getPages()) {
+      blackhole.consume(page.getHref());
+    }
+    blackhole.consume(pagination.getNext().getHref());
+  }
+}
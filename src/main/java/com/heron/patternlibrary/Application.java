@@ -2,11 +2,16 @@ package com.heron.patternlibrary;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class Application {
 
   public static void main(String[] args) {
-    SpringApplication.run(Application.class, args);
+    ConfigurableApplicationContext context = SpringApplication.run(Application.class, args);
+    // The training run of the class data sharing archive exits after the warm-up, see the cdsArchive task
+    if (context.getEnvironment().getProperty("patternlibrary.warmup.exit", Boolean.class, false)) {
+      System.exit(SpringApplication.exit(context));
+    }
   }
 }
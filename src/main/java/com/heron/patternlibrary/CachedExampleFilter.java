@@ -0,0 +1,107 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+import com.heron.patternlibrary.cache.ExampleHtmlCache;
+import com.heron.patternlibrary.cache.ExampleHtmlCache.RenderedExample;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Serves cacheable examples (see {@link com.heron.patternlibrary.annotations.CacheableExample})
+ * from the {@link ExampleHtmlCache}, so that neither their controller nor
+ * their view is called again until one of their templates changes. Only
+ * requests without a query string are cached.
+ *
+ * Runs before the {@link com.heron.patternlibrary.metrics.ExampleRenderMetricsFilter},
+ * so that the render metrics keep measuring actual renders.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class CachedExampleFilter extends OncePerRequestFilter {
+
+  private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  @Autowired
+  private ExampleHtmlCache cache;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !"GET".equals(request.getMethod());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    Snapshot snapshot = registry.getSnapshot();
+    String uri = URL_PATH_HELPER.getPathWithinApplication(request);
+    Optional<String> key = cacheKey(snapshot, uri, request.getQueryString());
+    if (!key.isPresent()) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    Optional<RenderedExample> cached = cache.get(key.get());
+    if (cached.isPresent()) {
+      // The handler isn't called, so the conditional request has to be answered here
+      PatternLibraryPage page = snapshot.findPage(Kind.EXAMPLE, uri).get();
+      response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+      if (new ServletWebRequest(request, response).checkNotModified(
+          ConditionalRequestInterceptor.etag(page, null), snapshot.getCreatedAt())) {
+        return;
+      }
+
+      byte[] body = cached.get().getBody();
+      response.setContentType(cached.get().getContentType());
+      response.setContentLength(body.length);
+      response.getOutputStream().write(body);
+      return;
+    }
+
+    ContentCachingResponseWrapper rendered = new ContentCachingResponseWrapper(response);
+    chain.doFilter(request, rendered);
+    // e.g. a 304, which didn't render anything
+    if (rendered.getStatus() == HttpServletResponse.SC_OK) {
+      cache.put(key.get(), new RenderedExample(rendered.getContentAsByteArray(), rendered.getContentType()));
+    }
+    rendered.copyBodyToResponse();
+  }
+
+  /**
+   * The key of a cacheable example in the {@link ExampleHtmlCache}, empty for
+   * all other requests. Requests with a query string are rendered as usual,
+   * so that e.g. a crawler can't evict the cached examples with arbitrary
+   * parameters.
+   */
+  static Optional<String> cacheKey(Snapshot snapshot, String uri, String queryString) {
+    if (queryString != null || !snapshot.findExample(uri).filter(PatternLibraryExample::isCacheable).isPresent()) {
+      return Optional.empty();
+    }
+    return snapshot.findPage(Kind.EXAMPLE, uri)
+        .map(page -> ExampleHtmlCache.key(uri, page.getFingerprint()));
+  }
+}
@@ -0,0 +1,96 @@
+package com.heron.patternlibrary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The files of a component, i.e. of the directory of its main template, which
+ * are listed once when the registry is built. The files are resolved as
+ * resources (never as {@link java.io.File}s), so they are found on the file
+ * system and inside of a JAR alike, and rendering a component never lists a
+ * directory or looks up a file which doesn't exist.
+ */
+public class ComponentAssets {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComponentAssets.class);
+
+  private static final ResourcePatternResolver RESOURCE_RESOLVER = new PathMatchingResourcePatternResolver();
+
+  public static final String README = "README.md";
+
+  private final String location;
+  private final Set<String> files;
+
+  public ComponentAssets(String location, Set<String> files) {
+    this.location = location;
+    this.files = Collections.unmodifiableSet(new TreeSet<>(files));
+  }
+
+  /**
+   * Lists the directory of the template, e.g. {@code classpath:/templates/components/bootstrap/alerts/}
+   * for {@code classpath:/templates/components/bootstrap/alerts/alerts.html}.
+   */
+  public static Optional<ComponentAssets> of(String templatePath) {
+    return of(templatePath, RESOURCE_RESOLVER);
+  }
+
+  static Optional<ComponentAssets> of(String templatePath, ResourcePatternResolver resourceResolver) {
+    int slash = templatePath.lastIndexOf('/');
+    if (slash < 0) {
+      return Optional.empty();
+    }
+
+    String location = templatePath.substring(0, slash + 1);
+    Set<String> files = new TreeSet<>();
+    try {
+      for (Resource resource : resourceResolver.getResources(location + "*")) {
+        // Directories are neither readable nor (inside of a JAR) named
+        if (resource.isReadable() && StringUtils.hasLength(resource.getFilename())) {
+          files.add(resource.getFilename());
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.info("Could not list the files of component location={}", location);
+      return Optional.empty();
+    }
+    return Optional.of(new ComponentAssets(location, files));
+  }
+
+  public String getLocation() {
+    return location;
+  }
+
+  public Set<String> getFiles() {
+    return files;
+  }
+
+  /**
+   * The resource path of a file of the component, if it exists.
+   */
+  public Optional<String> find(String file) {
+    return files.contains(file) ? Optional.of(location + file) : Optional.empty();
+  }
+
+  public Optional<String> getReadmePath() {
+    return find(README);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("ComponentAssets{");
+    sb.append("location='").append(location).append('\'');
+    sb.append(", files=").append(files);
+    sb.append('}');
+    return sb.toString();
+  }
+}
@@ -0,0 +1,13 @@
+package com.heron.patternlibrary;
+
+/**
+ * Finds the {@link com.heron.patternlibrary.annotations.PatternLibraryComponents}
+ * controllers and their examples. Without a discovery bean the registry reads
+ * the compile time {@link PatternLibraryIndex}, see
+ * {@link com.heron.patternlibrary.reactive.ReactiveComponentDiscovery} for the
+ * reactive mode.
+ */
+public interface ComponentDiscovery {
+
+  PatternLibraryIndex discover();
+}
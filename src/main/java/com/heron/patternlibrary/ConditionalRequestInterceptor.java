@@ -0,0 +1,101 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.WebUtils;
+
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Answers conditional GET requests for the index, details, docs and example
+ * pages with a {@code 304 Not Modified} before the handler (and the view) is
+ * invoked. The ETag of a page is its fingerprint, which is computed once for
+ * every registry snapshot.
+ *
+ * Pages which aren't cacheable (see {@link PatternLibraryPage#isCacheable()})
+ * are always rendered, their ETag is derived from the rendered body by the
+ * {@link RenderedPageEtagFilter}.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ConditionalRequestInterceptor implements HandlerInterceptor {
+
+  private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  @Autowired
+  private ExampleRenderer renderer;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    // Examples rendered inline are included into the details page, which has been checked already
+    if (WebUtils.isIncludeRequest(request)
+        || !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+      return true;
+    }
+
+    Snapshot snapshot = registry.getSnapshot();
+    Optional<PatternLibraryPage> page = findPage(snapshot, URL_PATH_HELPER.getPathWithinApplication(request), request);
+    if (!page.isPresent()) {
+      return true;
+    }
+
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+    if (!isCacheable(page.get(), request)) {
+      return true;
+    }
+    return !new ServletWebRequest(request, response)
+        .checkNotModified(etag(page.get(), request.getQueryString()), snapshot.getCreatedAt());
+  }
+
+  /**
+   * The requested page, if it may be answered without rendering it.
+   */
+  public Optional<PatternLibraryPage> findCacheablePage(Snapshot snapshot, HttpServletRequest request) {
+    return findPage(snapshot, URL_PATH_HELPER.getPathWithinApplication(request), request)
+        .filter(page -> isCacheable(page, request));
+  }
+
+  // The examples are only part of a details page if they are rendered inline
+  boolean isCacheable(PatternLibraryPage page, HttpServletRequest request) {
+    return page.isCacheable() || page.getKind() == Kind.DETAILS && !renderer.isInline(request.getParameter("render"));
+  }
+
+  static Optional<PatternLibraryPage> findPage(Snapshot snapshot, String path, HttpServletRequest request) {
+    if (path.equals("/")) {
+      Optional<PatternLibraryPage> details = snapshot.findPage(Kind.DETAILS, request.getParameter("uri"));
+      return details.isPresent() ? details : snapshot.findPage(Kind.INDEX, PatternLibraryController.INTRO_DOC_PATH);
+    }
+
+    if (path.equals("/docs")) {
+      return snapshot.findPage(Kind.DOCS, request.getParameter("docPath"));
+    }
+
+    return snapshot.findPage(Kind.EXAMPLE, path);
+  }
+
+  // The query string (e.g. the title of a docs page) is part of the model, so it is part of the ETag as well
+  static String etag(PatternLibraryPage page, String queryString) {
+    String tag = queryString == null ? page.getFingerprint()
+        : DigestUtils.md5DigestAsHex((page.getFingerprint() + "?" + queryString).getBytes(UTF_8));
+    return "\"" + tag + "\"";
+  }
+}
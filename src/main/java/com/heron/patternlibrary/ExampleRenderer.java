@@ -0,0 +1,247 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.cache.ExampleHtmlCache;
+import com.heron.patternlibrary.cache.ExampleHtmlCache.RenderedExample;
+import com.heron.patternlibrary.metrics.ExampleRenderMetrics;
+import com.heron.patternlibrary.metrics.HtmlElementCounter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Renders the examples of an entry within the request of the details page, so
+ * they can be embedded with {@code srcdoc} instead of every example iframe
+ * requesting its own page.
+ *
+ * The mode is configured with {@code patternlibrary.examples.render} and can
+ * be overridden per request with the {@code render} parameter, e.g.
+ * {@code /?uri=/bootstrap/alerts&render=iframe}.
+ *
+ * The examples are included within the request of the details page, which
+ * the filters of the examples have already seen (they only run once per
+ * request). So the renderer looks up the {@link ExampleHtmlCache} and records
+ * the {@link ExampleRenderMetrics} itself, like {@link CachedExampleFilter}
+ * and {@link com.heron.patternlibrary.metrics.ExampleRenderMetricsFilter} do
+ * for requested examples.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ExampleRenderer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExampleRenderer.class);
+
+  public static final String INLINE = "inline";
+  public static final String IFRAME = "iframe";
+
+  @Value("${patternlibrary.examples.render:" + IFRAME + "}")
+  private String defaultMode;
+
+  @Autowired
+  private ExampleRenderMetrics metrics;
+
+  @Autowired
+  private StreamingDialect streaming;
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  @Autowired
+  private ExampleHtmlCache cache;
+
+  public boolean isInline(String mode) {
+    return INLINE.equals(mode == null ? defaultMode : mode);
+  }
+
+  /**
+   * Returns the rendered HTML of every example of the entry by URI. Examples
+   * which could not be rendered are missing, so they fall back to an iframe.
+   *
+   * When streaming is enabled, an example is rendered only when the view asks
+   * for it, so it is sent to the client before the next one is rendered.
+   */
+  public Map<String, String> renderAll(PatternLibraryEntry entry, HttpServletRequest request,
+                                       HttpServletResponse response) {
+    List<String> uris = Stream.concat(Stream.of(entry.getMainExample()), entry.getExamples().stream())
+        .map(PatternLibraryExample::getUri)
+        .collect(Collectors.toList());
+    if (streaming.isEnabled()) {
+      return new LazilyRenderedExamples(uris, request, response);
+    }
+
+    Map<String, String> rendered = new LinkedHashMap<>();
+    for (String uri : uris) {
+      render(uri, request, response).ifPresent(html -> rendered.put(uri, html));
+    }
+    return rendered;
+  }
+
+  private Optional<String> render(String uri, HttpServletRequest request, HttpServletResponse response) {
+    Optional<String> key = CachedExampleFilter.cacheKey(registry.getSnapshot(), uri, null);
+    Optional<RenderedExample> cached = key.flatMap(cache::get);
+    if (cached.isPresent()) {
+      return Optional.of(new String(cached.get().getBody(), UTF_8));
+    }
+
+    RequestDispatcher dispatcher = request.getRequestDispatcher(uri);
+    if (dispatcher == null) {
+      return Optional.empty();
+    }
+
+    BufferedResponse buffer = new BufferedResponse(response);
+    long start = System.nanoTime();
+    try {
+      dispatcher.include(request, buffer);
+    } catch (ServletException | IOException | RuntimeException e) {
+      LOGGER.info("Could not render example={} inline", uri, e);
+      return Optional.empty();
+    }
+
+    if (buffer.status >= 400) {
+      LOGGER.info("Could not render example={} inline (status={})", uri, buffer.status);
+      return Optional.empty();
+    }
+    String content = buffer.getContent();
+    byte[] bytes = content.getBytes(UTF_8);
+    metrics.record(uri, System.nanoTime() - start, bytes.length, HtmlElementCounter.count(content));
+    key.ifPresent(k -> cache.put(k, new RenderedExample(bytes, MediaType.TEXT_HTML_VALUE + ";charset=UTF-8")));
+    return Optional.of(content);
+  }
+
+  private class LazilyRenderedExamples extends AbstractMap<String, String> {
+    private final List<String> uris;
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final Map<String, Optional<String>> rendered = new LinkedHashMap<>();
+
+    LazilyRenderedExamples(List<String> uris, HttpServletRequest request, HttpServletResponse response) {
+      this.uris = uris;
+      this.request = request;
+      this.response = response;
+    }
+
+    @Override
+    public String get(Object uri) {
+      if (!uris.contains(uri)) {
+        return null;
+      }
+      return rendered.computeIfAbsent((String) uri, key -> render(key, request, response)).orElse(null);
+    }
+
+    @Override
+    public boolean containsKey(Object uri) {
+      return get(uri) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      Map<String, String> all = new LinkedHashMap<>();
+      for (String uri : uris) {
+        String html = get(uri);
+        if (html != null) {
+          all.put(uri, html);
+        }
+      }
+      return all.entrySet();
+    }
+  }
+
+  /**
+   * Collects the output of an included request instead of writing it to the client.
+   */
+  private static class BufferedResponse extends HttpServletResponseWrapper {
+    private final StringWriter writer = new StringWriter();
+    private final PrintWriter printWriter = new PrintWriter(writer);
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private int status = SC_OK;
+
+    BufferedResponse(HttpServletResponse response) {
+      super(response);
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+      return printWriter;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+      return new ServletOutputStream() {
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+          // The buffer takes every byte right away
+          try {
+            writeListener.onWritePossible();
+          } catch (IOException e) {
+            writeListener.onError(e);
+          }
+        }
+
+        @Override
+        public void write(int b) {
+          bytes.write(b);
+        }
+      };
+    }
+
+    @Override
+    public void setStatus(int status) {
+      this.status = status;
+    }
+
+    @Override
+    public void sendError(int status) {
+      this.status = status;
+    }
+
+    @Override
+    public void sendError(int status, String message) {
+      this.status = status;
+    }
+
+    @Override
+    public void flushBuffer() {
+      // Nothing is written to the client
+    }
+
+    String getContent() {
+      printWriter.flush();
+      return writer.toString() + new String(bytes.toByteArray(), UTF_8);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.heron.patternlibrary;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Lets browsers cache an asset for good when it is requested by its
+ * fingerprinted URL (e.g. {@code /pattern-library/bundle-<md5>.css}, see
+ * {@code spring.web.resources.chain.strategy.content}), because a changed
+ * asset gets a new URL. Assets requested by their plain URL are cached as
+ * before.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ImmutableAssetsInterceptor implements HandlerInterceptor {
+
+  private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+  private static final ContentVersionStrategy VERSION_STRATEGY = new ContentVersionStrategy();
+
+  static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue()
+      + ", immutable";
+
+  // Looked up on use, because the provider is created by the same configuration as the interceptors
+  @Autowired
+  private ObjectProvider<ResourceUrlProvider> resourceUrlProvider;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (handler instanceof ResourceHttpRequestHandler
+        && isFingerprinted(URL_PATH_HELPER.getPathWithinApplication(request))) {
+      response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+    }
+    return true;
+  }
+
+  /**
+   * Whether the path is the current fingerprinted URL of an asset, and not
+   * e.g. an outdated one or a file which just happens to contain a dash.
+   */
+  boolean isFingerprinted(String path) {
+    String version = VERSION_STRATEGY.extractVersion(path);
+    if (version == null) {
+      return false;
+    }
+    String unversionedPath = VERSION_STRATEGY.removeVersion(path, version);
+    return path.equals(resourceUrlProvider.getObject().getForLookupPath(unversionedPath));
+  }
+}
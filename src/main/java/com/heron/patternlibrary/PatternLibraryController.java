@@ -1,6 +1,8 @@
 package com.heron.patternlibrary;
 
-import com.heron.patternlibrary.annotations.PatternLibraryComponents;
+import com.heron.patternlibrary.cache.DocumentationCache;
+import com.heron.patternlibrary.cache.TemplateSourceCache;
+import com.heron.patternlibrary.cache.TemplateSourceCache.TemplateSource;
 
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.html.HtmlRenderer;
@@ -8,199 +10,170 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
-import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
-import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 @Controller
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class PatternLibraryController {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PatternLibraryController.class);
 
+  public static final String INTRO_DOC_PATH = "/docs/intro.md";
+
   private static Parser PARSER = Parser.builder().build();
   private static HtmlRenderer HTML_RENDERER = HtmlRenderer.builder().build();
 
-  private static List<PatternLibraryGroup> patternLibraryGroups;
+  @Autowired
+  private PatternLibraryRegistry registry;
 
   @Autowired
-  private RequestMappingHandlerMapping requestHandlerMapping;
+  private DocumentationCache documentation;
 
   @Autowired
-  private ResourceLoader resourceLoader;
+  private ExampleRenderer exampleRenderer;
+
+  @Autowired
+  private PatternLibraryNavigation navigation;
 
   @Value("${patternlibrary.app.name:Pattern Library}")
   private String appName;
 
-  @Value("${patternlibrary.docs.prefix:/docs/}" )
-  private String docsPrefix;
-
-  @Value( "${spring.thymeleaf.prefix:/templates/}" )
-  private String thymeleafPrefix;
+  private volatile BaseModel baseModel;
 
   @GetMapping("/")
-  public ModelAndView index(@RequestParam(required = false) String uri) {
+  public ModelAndView index(@RequestParam(required = false) String uri,
+                            @RequestParam(required = false) String render,
+                            HttpServletRequest request, HttpServletResponse response) {
     Optional<PatternLibraryEntry> entry = findEntryByUri(uri);
 
     if (entry.isPresent()) {
-      return new ModelAndView("pattern-library/details", modelWithEntry(entry.get()));
+      Map<String, Object> model = modelWithEntry(entry.get());
+      if (exampleRenderer.isInline(render)) {
+        model.put("renderedExamples", exampleRenderer.renderAll(entry.get(), request, response));
+      }
+      return new ModelAndView("pattern-library/details", model);
     }
 
-    Optional<String> documentation = extractResource("/docs/intro.md")
-        .map(PatternLibraryController::markdownToHTML);
-
     return new ModelAndView("pattern-library/docs",
-        modelWithDocumentation(appName, documentation));
+        modelWithDocumentation(appName, documentation.getHtml(INTRO_DOC_PATH)));
   }
 
   @GetMapping("/docs")
   public ModelAndView docs(@RequestParam(required = false, defaultValue = "Pattern Library") String title,
                            @RequestParam String docPath) {
-    Optional<String> documentation = extractResource(docPath)
-        .map(PatternLibraryController::markdownToHTML);
+    // Only known docs are looked up, so random paths never reach the resource loader (nor the cache)
+    if (!registry.getSnapshot().isDocument(docPath)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+    }
     return new ModelAndView("pattern-library/docs",
-        modelWithDocumentation(title, documentation));
+        modelWithDocumentation(title, documentation.getHtml(docPath)));
   }
 
   public Map<String, Object> modelWithEntry(PatternLibraryEntry entry) {
-    Map<String, Object> model = model();
+    Map<String, Object> model = new HashMap<>(model());
     model.put("entry", entry);
+    // A data driver of the examples in the reactive mode, see ReactivePatternLibraryController
+    model.put("examples", entry.getExamples());
     return model;
   }
 
   public Map<String, Object> modelWithDocumentation(String pageTitle, Optional<String> documentation) {
-    Map<String, Object> model = model();
+    Map<String, Object> model = new HashMap<>(model());
     model.put("title", pageTitle);
     model.put("documentation", documentation);
     return model;
   }
 
+  /**
+   * The (unmodifiable) model shared by all pages, including the pre-rendered
+   * navigation. It is only created again when the registry changed.
+   */
   public Map<String, Object> model() {
-    Map<String, Object> model = new HashMap<>();
-    model.put("appName", appName);
-    model.put("groups", getPatternLibraryGroups());
-    return model;
+    PatternLibraryRegistry.Snapshot snapshot = registry.getSnapshot();
+    BaseModel current = baseModel;
+    if (current == null || current.snapshot != snapshot) {
+      Map<String, Object> model = new HashMap<>();
+      model.put("appName", appName);
+      model.put("groups", snapshot.getGroups());
+      model.put("navigation", navigation.render(snapshot, appName));
+      current = new BaseModel(snapshot, Collections.unmodifiableMap(model));
+      baseModel = current;
+    }
+    return current.model;
   }
 
   private Optional<PatternLibraryEntry> findEntryByUri(String uri) {
-    return getPatternLibraryGroups()
-        .stream()
-        .map(g -> g.findEntryBy(uri))
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .findFirst();
+    return registry.getSnapshot().findEntry(uri);
   }
 
-  private List<PatternLibraryGroup> getPatternLibraryGroups() {
-    if (patternLibraryGroups != null) {
-      return patternLibraryGroups;
-    }
-
-    Map<? extends Class<?>, List<Map.Entry<RequestMappingInfo, HandlerMethod>>> collect = getComponentEndpoints()
-        .collect(Collectors.groupingBy(entry -> entry.getValue().getBeanType()));
-
-    patternLibraryGroups = collect.entrySet()
-        .stream()
-        .map(entry -> {
-          // Remove "Controller" from class name to get name for category
-          String name = entry.getKey().getSimpleName().replaceAll("Controller", "");
-          Optional<PatternLibraryComponents> annotation = entry.getValue().stream().findFirst()
-              .map(e -> e.getValue().getBeanType().getAnnotation(PatternLibraryComponents.class));
-
-          Optional<String> docPath = annotation
-              .map(PatternLibraryComponents::docs)
-              .filter(StringUtils::hasLength)
-              .map(docs -> docsPrefix + docs);
-
-          Map<String, PatternLibraryExample> examples = entry.getValue()
-              .stream()
-              .map(e -> Map.entry(e.getKey().getPatternsCondition().getPatterns().stream().findFirst().orElse(""), e.getValue()))
-              .collect(Collectors.toMap(Map.Entry::getKey,
-                  e -> new PatternLibraryExample(extractNameFromMethod(e.getValue().getMethod().getName()), e.getKey(),
-                      extractTemplatePath(e.getValue()))));
-
-          Map<String, PatternLibraryEntry> entries = examples.entrySet()
-              .stream()
-              .filter(e -> !e.getKey().contains("--")) // Variants of components will have -- in the URI
-              .collect(Collectors.toMap(Map.Entry::getKey,
-                  e -> new PatternLibraryEntry(e.getValue(), new ArrayList<>(),
-                      e.getValue().getTemplatePath().flatMap(this::extractComponentDir))));
-
-          examples.entrySet()
-              .stream()
-              .map(e -> {
-                String[] parts = e.getKey().split("--");
-                return new AbstractMap.SimpleEntry<>(parts, e.getValue());
-              })
-              .filter(e -> e.getKey().length > 1 && entries.containsKey(e.getKey()[0]))
-              .forEach(e -> {
-                PatternLibraryEntry mainEntry = entries.get(e.getKey()[0]);
-                mainEntry.examples.add(e.getValue());
-                mainEntry.examples.sort(Comparator.comparing(PatternLibraryExample::getName)); // TODO: might need some other way to order the variants
-              });
-
-          return new PatternLibraryGroup(name, docPath, entries.values().stream()
-              .sorted(Comparator.comparing(e -> e.getMainExample().name))
-              .collect(Collectors.toList()), annotation.get().order());
-        }).collect(Collectors.toList());
-
-    patternLibraryGroups.sort(Comparator.comparing(PatternLibraryGroup::getOrder));
-
-    return patternLibraryGroups;
-  }
+  private static class BaseModel {
+    private final PatternLibraryRegistry.Snapshot snapshot;
+    private final Map<String, Object> model;
 
-  private Stream<Map.Entry<RequestMappingInfo, HandlerMethod>> getComponentEndpoints() {
-    return this.requestHandlerMapping.getHandlerMethods()
-        .entrySet()
-        .stream()
-        .filter(entry -> entry.getValue().getBeanType().getAnnotation(PatternLibraryComponents.class) != null);
+    BaseModel(PatternLibraryRegistry.Snapshot snapshot, Map<String, Object> model) {
+      this.snapshot = snapshot;
+      this.model = model;
+    }
   }
 
   public static class PatternLibraryGroup {
     private final String name;
+    private final String controller;
     private final Optional<String> docPath;
     private final List<PatternLibraryEntry> entries;
     private final int order;
+    private final DocumentationCache documentation;
 
-    public PatternLibraryGroup(String name, Optional<String> docPath, List<PatternLibraryEntry> entries, int order) {
+    public PatternLibraryGroup(String name, String controller, Optional<String> docPath, List<PatternLibraryEntry> entries,
+                               int order, DocumentationCache documentation) {
       this.name = name;
+      this.controller = controller;
       this.docPath = docPath;
       this.entries = entries;
       this.order = order;
+      this.documentation = documentation;
     }
 
     public String getName() {
       return name;
     }
 
+    /**
+     * The fully qualified class name of the controller providing the examples of this group.
+     */
+    public String getController() {
+      return controller;
+    }
+
     public Optional<String> getDocPath() {
       return docPath;
     }
@@ -210,8 +183,7 @@ public class PatternLibraryController {
     }
 
     public Optional<String> getDocumentation() {
-      return docPath.flatMap(PatternLibraryController::extractResource)
-          .map(PatternLibraryController::markdownToHTML);
+      return docPath.flatMap(documentation::getHtml);
     }
 
     public int getOrder() {
@@ -222,6 +194,7 @@ public class PatternLibraryController {
     public String toString() {
       final StringBuilder sb = new StringBuilder("PatternLibraryGroup{");
       sb.append("name='").append(name).append('\'');
+      sb.append(", controller='").append(controller).append('\'');
       sb.append(", docPath=").append(docPath);
       sb.append(", entries=").append(entries);
       sb.append(", order=").append(order);
@@ -237,12 +210,23 @@ public class PatternLibraryController {
   public static class PatternLibraryEntry {
     private final PatternLibraryExample mainExample;
     private final List<PatternLibraryExample> examples;
-    private final Optional<File> componentDir;
+    private final Supplier<Optional<ComponentAssets>> assets;
+    private final DocumentationCache documentation;
+
+    public PatternLibraryEntry(PatternLibraryExample mainExample, List<PatternLibraryExample> examples,
+                               Optional<ComponentAssets> assets, DocumentationCache documentation) {
+      this(mainExample, examples, () -> assets, documentation);
+    }
 
-    public PatternLibraryEntry(PatternLibraryExample mainExample, List<PatternLibraryExample> examples, Optional<File> componentDir) {
+    /**
+     * The files of the component are listed when they are needed for the first time.
+     */
+    public PatternLibraryEntry(PatternLibraryExample mainExample, List<PatternLibraryExample> examples,
+                               Supplier<Optional<ComponentAssets>> assets, DocumentationCache documentation) {
       this.mainExample = mainExample;
       this.examples = examples;
-      this.componentDir = componentDir;
+      this.assets = SingletonSupplier.of(assets);
+      this.documentation = documentation;
     }
 
     public PatternLibraryExample getMainExample() {
@@ -253,16 +237,16 @@ public class PatternLibraryController {
       return examples;
     }
 
-    public Optional<File> getComponentDir() {
-      return componentDir;
+    public Optional<ComponentAssets> getAssets() {
+      return assets.get();
+    }
+
+    public Optional<String> getDocumentationPath() {
+      return getAssets().flatMap(ComponentAssets::getReadmePath);
     }
 
     public Optional<String> getDocumentation() {
-      return componentDir
-          .map(file -> file.listFiles((dir, name) -> name.equals("README.md")))
-          .filter(files -> files.length > 0)
-          .flatMap(files -> extractFile(files[0]))
-          .map(PatternLibraryController::markdownToHTML);
+      return getDocumentationPath().flatMap(documentation::getHtml);
     }
 
     @Override
@@ -270,7 +254,6 @@ public class PatternLibraryController {
       final StringBuilder sb = new StringBuilder("PatternLibraryEntry{");
       sb.append("mainExample=").append(mainExample);
       sb.append(", examples=").append(examples);
-      sb.append(", componentDir=").append(componentDir);
       sb.append('}');
       return sb.toString();
     }
@@ -280,11 +263,27 @@ public class PatternLibraryController {
     private final String name;
     private final String uri;
     private final Optional<String> templatePath;
+    private final RenderBudget budget;
+    private final boolean cacheable;
+    private final TemplateSourceCache templateSources;
+
+    public PatternLibraryExample(String name, String uri, Optional<String> templatePath, TemplateSourceCache templateSources) {
+      this(name, uri, templatePath, RenderBudget.NONE, templateSources);
+    }
 
-    public PatternLibraryExample(String name, String uri, Optional<String> templatePath) {
+    public PatternLibraryExample(String name, String uri, Optional<String> templatePath, RenderBudget budget,
+                                 TemplateSourceCache templateSources) {
+      this(name, uri, templatePath, budget, false, templateSources);
+    }
+
+    public PatternLibraryExample(String name, String uri, Optional<String> templatePath, RenderBudget budget,
+                                 boolean cacheable, TemplateSourceCache templateSources) {
       this.name = name;
       this.uri = uri;
       this.templatePath = templatePath;
+      this.budget = budget;
+      this.cacheable = cacheable;
+      this.templateSources = templateSources;
     }
 
     public String getName() {
@@ -299,8 +298,23 @@ public class PatternLibraryController {
       return templatePath;
     }
 
+    public RenderBudget getBudget() {
+      return budget;
+    }
+
+    /**
+     * Whether the rendered HTML only depends on the templates, see {@link com.heron.patternlibrary.annotations.CacheableExample}.
+     */
+    public boolean isCacheable() {
+      return cacheable;
+    }
+
     public Optional<String> getTemplate() {
-      return templatePath.flatMap(PatternLibraryController::extractResource);
+      return getTemplateSource().map(TemplateSource::getSource);
+    }
+
+    public Optional<TemplateSource> getTemplateSource() {
+      return templatePath.flatMap(templateSources::get);
     }
 
     @Override
@@ -325,67 +339,15 @@ public class PatternLibraryController {
     return StringUtils.capitalize(result);
   }
 
-  public Optional<String> extractTemplatePath(HandlerMethod handlerMethod) {
-    Method method = handlerMethod.getMethod();
-    try {
-      // Expects Controller to have a no-args constructor
-      Object object = handlerMethod.getBeanType().getDeclaredConstructor().newInstance();
-
-      // Expects controller for a pattern library endpoint to have no parameters
-      Object view = method.invoke(object);
-
-      // XXX: hardcodes template path. Preferable to retrieve from properties?
-      String templatePath = thymeleafPrefix;
-
-      if (view instanceof String) {
-        templatePath += view;
-      } else if (view instanceof ModelAndView) {
-        templatePath += ((ModelAndView) view).getViewName();
-      } else {
-        return Optional.empty();
-      }
-
-      templatePath += ".html";
-
-      return Optional.of(templatePath);
-    } catch (Exception e) {
-      LOGGER.info("Could not retrieve template path from method={}", method);
-      return Optional.empty();
-    }
-  }
-
-  public Optional<File> extractComponentDir(String templatePath) {
-    if (templatePath == null) {
-      return Optional.empty();
-    }
-
-    DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
-    Resource resource = resourceLoader.getResource(templatePath);
-
-    try {
-      return Optional.ofNullable(resource.getFile().getParentFile());
-    } catch (IOException e) {
-      LOGGER.info("Could not find documentation for template={}", templatePath);
-      return Optional.empty();
-    }
-  }
-
   public static Optional<String> extractResource(String resourcePath) {
-    DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
-    Resource resource = resourceLoader.getResource(resourcePath);
-    try (Reader reader = new InputStreamReader(resource.getInputStream(), UTF_8)) {
-      return Optional.of(FileCopyUtils.copyToString(reader));
-    } catch (IOException e) {
-      LOGGER.info("Could not extract resource={}", resourcePath);
-      return Optional.empty();
-    }
+    return extractResource(new DefaultResourceLoader().getResource(resourcePath));
   }
 
-  public static Optional<String> extractFile(File file) {
-    try (Reader reader = new InputStreamReader(new FileInputStream(file))) {
+  public static Optional<String> extractResource(Resource resource) {
+    try (Reader reader = new InputStreamReader(resource.getInputStream(), UTF_8)) {
       return Optional.of(FileCopyUtils.copyToString(reader));
     } catch (IOException e) {
-      LOGGER.info("Could not extract file={}", file);
+      LOGGER.info("Could not extract resource={}", resource.getDescription());
       return Optional.empty();
     }
   }
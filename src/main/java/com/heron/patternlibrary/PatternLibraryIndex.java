@@ -0,0 +1,207 @@
+package com.heron.patternlibrary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The component index which is generated by the pattern library annotation
+ * processor at compile time. Every JAR on the classpath may contribute its own
+ * index file.
+ */
+public class PatternLibraryIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PatternLibraryIndex.class);
+
+  public static final String LOCATION = "META-INF/pattern-library/components.idx";
+
+  private final List<IndexedGroup> groups;
+
+  private PatternLibraryIndex(List<IndexedGroup> groups) {
+    this.groups = groups;
+  }
+
+  public static PatternLibraryIndex of(List<IndexedGroup> groups) {
+    return new PatternLibraryIndex(Collections.unmodifiableList(new ArrayList<>(groups)));
+  }
+
+  public List<IndexedGroup> getGroups() {
+    return groups;
+  }
+
+  public static PatternLibraryIndex load(ClassLoader classLoader) {
+    List<String> lines = new ArrayList<>();
+    try {
+      for (URL url : Collections.list(classLoader.getResources(LOCATION))) {
+        try (Reader reader = new InputStreamReader(url.openStream(), UTF_8)) {
+          lines.addAll(readLines(reader));
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Could not read pattern library index={}", LOCATION, e);
+    }
+
+    if (lines.isEmpty()) {
+      LOGGER.warn("No pattern library index={} found. Is the annotation processor configured?", LOCATION);
+    }
+    return parse(lines);
+  }
+
+  public static PatternLibraryIndex parse(List<String> lines) {
+    Map<String, IndexedGroup> groups = new LinkedHashMap<>();
+    Map<String, List<IndexedExample>> examples = new LinkedHashMap<>();
+
+    for (String line : lines) {
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+
+      String[] fields = line.split("\t", -1);
+      for (int i = 0; i < fields.length; i++) {
+        fields[i] = unescape(fields[i]);
+      }
+
+      if (fields[0].equals("group") && fields.length >= 5) {
+        groups.putIfAbsent(fields[1], new IndexedGroup(fields[1], fields[2], fields[3], Integer.parseInt(fields[4]),
+            examples.computeIfAbsent(fields[1], controller -> new ArrayList<>())));
+      } else if (fields[0].equals("example") && fields.length >= 6) {
+        // The budget was added later, indexes of older JARs don't have it
+        RenderBudget budget = fields.length >= 9
+            ? new RenderBudget(Long.parseLong(fields[6]), Long.parseLong(fields[7]), Long.parseLong(fields[8]))
+            : RenderBudget.NONE;
+        boolean cacheable = fields.length >= 10 && Boolean.parseBoolean(fields[9]);
+        examples.computeIfAbsent(fields[1], controller -> new ArrayList<>())
+            .add(new IndexedExample(fields[2], fields[3], fields[4], fields[5], budget, cacheable));
+      } else {
+        LOGGER.info("Ignoring unknown pattern library index record={}", line);
+      }
+    }
+
+    return new PatternLibraryIndex(Collections.unmodifiableList(new ArrayList<>(groups.values())));
+  }
+
+  private static List<String> readLines(Reader reader) throws IOException {
+    return new BufferedReader(reader).lines().collect(Collectors.toList());
+  }
+
+  private static String unescape(String field) {
+    StringBuilder sb = new StringBuilder(field.length());
+    for (int i = 0; i < field.length(); i++) {
+      char c = field.charAt(i);
+      if (c == '\\' && i + 1 < field.length()) {
+        char next = field.charAt(++i);
+        sb.append(next == 't' ? '\t' : next == 'n' ? '\n' : next);
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  public static class IndexedGroup {
+    private final String controller;
+    private final String name;
+    private final String docs;
+    private final int order;
+    private final List<IndexedExample> examples;
+
+    public IndexedGroup(String controller, String name, String docs, int order, List<IndexedExample> examples) {
+      this.controller = controller;
+      this.name = name;
+      this.docs = docs;
+      this.order = order;
+      this.examples = examples;
+    }
+
+    public String getController() {
+      return controller;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getDocs() {
+      return docs;
+    }
+
+    public int getOrder() {
+      return order;
+    }
+
+    public List<IndexedExample> getExamples() {
+      return examples;
+    }
+  }
+
+  public static class IndexedExample {
+    private final String uri;
+    private final String variant;
+    private final String name;
+    private final String view;
+    private final RenderBudget budget;
+    private final boolean cacheable;
+
+    public IndexedExample(String uri, String variant, String name, String view, RenderBudget budget) {
+      this(uri, variant, name, view, budget, false);
+    }
+
+    public IndexedExample(String uri, String variant, String name, String view, RenderBudget budget,
+                          boolean cacheable) {
+      this.uri = uri;
+      this.variant = variant;
+      this.name = name;
+      this.view = view;
+      this.budget = budget;
+      this.cacheable = cacheable;
+    }
+
+    public String getUri() {
+      return uri;
+    }
+
+    /**
+     * The URI of the component this example belongs to (without the variant suffix).
+     */
+    public String getComponentUri() {
+      return variant.isEmpty() ? uri : uri.substring(0, uri.length() - variant.length() - 2);
+    }
+
+    public String getVariant() {
+      return variant;
+    }
+
+    public boolean isVariant() {
+      return !variant.isEmpty();
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getView() {
+      return view;
+    }
+
+    public RenderBudget getBudget() {
+      return budget;
+    }
+
+    public boolean isCacheable() {
+      return cacheable;
+    }
+  }
+}
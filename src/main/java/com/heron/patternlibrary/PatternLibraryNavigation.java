@@ -0,0 +1,82 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Renders the navigation of the pattern library ({@code pattern-library/nav.html}),
+ * which only changes when the registry changes, so it doesn't have to be
+ * rendered again for every page.
+ */
+@Component
+public class PatternLibraryNavigation {
+
+  static final String TEMPLATE = "pattern-library/nav";
+
+  @Autowired
+  private ITemplateEngine templateEngine;
+
+  /**
+   * Renders the navigation for all groups of the snapshot, with the links
+   * below the servlet mapping of the current request.
+   */
+  public String render(PatternLibraryRegistry.Snapshot snapshot, String appName) {
+    if (RequestContextHolder.getRequestAttributes() == null) {
+      throw new IllegalStateException("The navigation can only be rendered within a request");
+    }
+    return render(snapshot, appName,
+        Objects.toString(ServletUriComponentsBuilder.fromCurrentServletMapping().build().getPath(), ""));
+  }
+
+  /**
+   * Renders the navigation for all groups of the snapshot, with the links
+   * below the base path, e.g. the context path of a reactive request.
+   */
+  public String render(PatternLibraryRegistry.Snapshot snapshot, String appName, String basePath) {
+    Context context = new Context(Locale.getDefault());
+    context.setVariable("appName", appName);
+    context.setVariable("groups", snapshot.getGroups());
+    context.setVariable("links", new Links(basePath));
+    return templateEngine.process(TEMPLATE, Collections.singleton("nav"), context);
+  }
+
+  /**
+   * The links of the navigation. The template is rendered without a request,
+   * so link expressions can't be used.
+   */
+  public static class Links {
+    private final String basePath;
+
+    Links(String basePath) {
+      this.basePath = basePath;
+    }
+
+    public String getIndex() {
+      return basePath + "/";
+    }
+
+    public String docs(PatternLibraryGroup group) {
+      return group.getDocPath().map(docPath -> basePath + PatternLibraryPages.docsUrl(group.getName(), docPath))
+          .orElse(null);
+    }
+
+    public String details(PatternLibraryEntry entry) {
+      return basePath + UriComponentsBuilder.fromPath("/")
+          .queryParam("uri", entry.getMainExample().getUri())
+          .encode()
+          .toUriString();
+    }
+  }
+}
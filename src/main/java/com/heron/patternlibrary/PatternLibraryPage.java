@@ -0,0 +1,87 @@
+package com.heron.patternlibrary;
+
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.function.Supplier;
+
+/**
+ * A single page of the pattern library, together with a fingerprint of all of
+ * the inputs (templates, documentation, controllers and assets) which
+ * determine how the page is rendered. The fingerprint is computed when it is
+ * needed for the first time, as it reads all of these inputs.
+ *
+ * The model of an example is only covered by the fingerprint if the example
+ * is cacheable (see {@link com.heron.patternlibrary.annotations.CacheableExample}),
+ * other examples may show something else on every request.
+ */
+public class PatternLibraryPage {
+
+  public enum Kind {
+    INDEX, DOCS, DETAILS, EXAMPLE
+  }
+
+  private final Kind kind;
+  private final String subject;
+  private final String url;
+  private final boolean cacheable;
+  private final Supplier<String> fingerprint;
+
+  public PatternLibraryPage(Kind kind, String subject, String url, String fingerprint) {
+    this(kind, subject, url, () -> fingerprint);
+  }
+
+  public PatternLibraryPage(Kind kind, String subject, String url, Supplier<String> fingerprint) {
+    this(kind, subject, url, true, fingerprint);
+  }
+
+  public PatternLibraryPage(Kind kind, String subject, String url, boolean cacheable, Supplier<String> fingerprint) {
+    this.kind = kind;
+    this.subject = subject;
+    this.url = url;
+    this.cacheable = cacheable;
+    this.fingerprint = SingletonSupplier.of(fingerprint);
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * The URI of the component for details and example pages, the path of the
+   * markdown file for docs pages.
+   */
+  public String getSubject() {
+    return subject;
+  }
+
+  /**
+   * The URL of the page as it is linked within the pattern library.
+   */
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Whether the fingerprint covers everything the page shows, so that the page
+   * may be answered with a 304 without rendering it. Details pages are only
+   * cacheable if all of their examples are, because the examples may be
+   * rendered inline.
+   */
+  public boolean isCacheable() {
+    return cacheable;
+  }
+
+  public String getFingerprint() {
+    return fingerprint.get();
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("PatternLibraryPage{");
+    sb.append("kind=").append(kind);
+    sb.append(", subject='").append(subject).append('\'');
+    sb.append(", url='").append(url).append('\'');
+    sb.append('}');
+    return sb.toString();
+  }
+}
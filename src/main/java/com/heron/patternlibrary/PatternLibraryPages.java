@@ -0,0 +1,206 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+import com.heron.patternlibrary.cache.DocumentationCache;
+import com.heron.patternlibrary.cache.DocumentationCache.RenderedDocument;
+import com.heron.patternlibrary.cache.ResourceCache;
+import com.heron.patternlibrary.cache.ResourceChangedEvent;
+import com.heron.patternlibrary.cache.TemplateSourceCache.TemplateSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Lists every page of the pattern library (index, docs, details and examples)
+ * and fingerprints the inputs of each page, so that a page only needs to be
+ * rendered again when its fingerprint changed. The pages are listed once for
+ * every {@link PatternLibraryRegistry.Snapshot}, their fingerprints are
+ * computed when they are needed for the first time. The hashes of templates
+ * and assets are kept across snapshots until a file below their location
+ * changes.
+ */
+@Component
+public class PatternLibraryPages {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PatternLibraryPages.class);
+
+  @Autowired
+  private DocumentationCache documentation;
+
+  @Autowired
+  private ResourcePatternResolver resourcePatternResolver;
+
+  // Templates and assets shared by all pages, e.g. the layouts
+  @Value("${patternlibrary.pages.shared-locations:classpath*:/templates/pattern-library/**,classpath*:/templates/component-layout.html,classpath*:/static/**}")
+  private List<String> sharedLocations;
+
+  // By location pattern, only for locations on the file system, which can be watched
+  private final Map<String, String> resourceHashes = new ConcurrentHashMap<>();
+
+  @EventListener
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void onResourceChanged(ResourceChangedEvent event) {
+    resourceHashes.keySet().removeIf(locationPattern -> rootOf(locationPattern).filter(event.getPath()::startsWith)
+        .isPresent());
+  }
+
+  public List<PatternLibraryPage> getPages(List<PatternLibraryGroup> groups) {
+    Supplier<String> shared = SingletonSupplier.of(() -> fingerprint(sharedLocations.stream().map(this::hashResources)));
+    // The navigation is part of every pattern library page, so the registry is an input as well
+    Supplier<String> library = SingletonSupplier.of(() -> fingerprint(Stream.of(shared.get(), hashRegistry(groups))));
+
+    List<PatternLibraryPage> pages = new ArrayList<>();
+    pages.add(new PatternLibraryPage(Kind.INDEX, PatternLibraryController.INTRO_DOC_PATH, "/",
+        () -> fingerprint(Stream.of(library.get(), hashDocumentation(PatternLibraryController.INTRO_DOC_PATH)))));
+
+    // Nothing of a group is read before one of its pages is requested, so the startup doesn't grow with the groups
+    for (PatternLibraryGroup group : groups) {
+      group.getDocPath().ifPresent(docPath -> pages.add(new PatternLibraryPage(Kind.DOCS, docPath,
+          docsUrl(group.getName(), docPath), () -> fingerprint(Stream.of(library.get(), hashDocumentation(docPath))))));
+
+      Supplier<String> controller = SingletonSupplier.of(() -> hashController(group.getController()));
+      for (PatternLibraryEntry entry : group.getEntries()) {
+        List<PatternLibraryExample> examples = Stream.concat(Stream.of(entry.getMainExample()), entry.getExamples().stream())
+            .collect(Collectors.toList());
+
+        List<PatternLibraryPage> examplePages = new ArrayList<>();
+        for (PatternLibraryExample example : examples) {
+          examplePages.add(new PatternLibraryPage(Kind.EXAMPLE, example.getUri(), example.getUri(),
+              example.isCacheable(),
+              () -> fingerprint(Stream.of(shared.get(), controller.get(), hashComponent(example)))));
+        }
+        pages.addAll(examplePages);
+
+        // Examples may be rendered inline, so the details page depends on them as well
+        pages.add(new PatternLibraryPage(Kind.DETAILS, entry.getMainExample().getUri(),
+            "/?uri=" + entry.getMainExample().getUri(),
+            examples.stream().allMatch(PatternLibraryExample::isCacheable),
+            () -> fingerprint(Stream.of(
+                Stream.of(library.get(), entry.getDocumentationPath().flatMap(documentation::get)
+                    .map(RenderedDocument::getContentHash).orElse("")),
+                examples.stream().map(e -> e.getTemplateSource().map(TemplateSource::getContentHash).orElse("")),
+                examplePages.stream().map(PatternLibraryPage::getFingerprint))
+                .flatMap(Function.identity()))));
+      }
+    }
+
+    return pages;
+  }
+
+  public static String docsUrl(String title, String docPath) {
+    return UriComponentsBuilder.fromPath("/docs")
+        .queryParam("title", title)
+        .queryParam("docPath", docPath)
+        .encode()
+        .toUriString();
+  }
+
+  private String hashDocumentation(String docPath) {
+    return documentation.get(docPath).map(RenderedDocument::getContentHash).orElse("");
+  }
+
+  private String hashRegistry(List<PatternLibraryGroup> groups) {
+    return fingerprint(groups
+        .stream()
+        .flatMap(group -> Stream.concat(Stream.of(group.getName(), group.getDocPath().orElse("")),
+            group.getEntries()
+                .stream()
+                .flatMap(entry -> Stream.concat(Stream.of(entry.getMainExample()), entry.getExamples().stream()))
+                .map(example -> example.getName() + " " + example.getUri()))));
+  }
+
+  // The model of a cacheable example is created by its controller, so any change to the controller may change the page
+  private String hashController(String controller) {
+    String classFile = ClassUtils.convertClassNameToResourcePath(controller) + ClassUtils.CLASS_FILE_SUFFIX;
+    try (InputStream in = getClass().getClassLoader().getResourceAsStream(classFile)) {
+      return in == null ? "" : DigestUtils.md5DigestAsHex(in);
+    } catch (IOException e) {
+      LOGGER.info("Could not read controller={}", controller);
+      return "";
+    }
+  }
+
+  // Templates of a component usually include fragments from the same directory, so all of them are inputs
+  private String hashComponent(PatternLibraryExample example) {
+    return example.getTemplatePath()
+        .map(templatePath -> "classpath*:" + templatePath.substring(0, templatePath.lastIndexOf('/') + 1) + "*")
+        .map(this::hashResources)
+        .orElse("");
+  }
+
+  private String hashResources(String locationPattern) {
+    // e.g. inside of a JAR, or not created yet
+    if (!rootOf(locationPattern).isPresent()) {
+      return readAndHashResources(locationPattern);
+    }
+    return resourceHashes.computeIfAbsent(locationPattern, this::readAndHashResources);
+  }
+
+  /**
+   * The file or directory of a location (pattern) on the file system, e.g. the
+   * directory {@code templates/pattern-library} of {@code classpath*:/templates/pattern-library/**}.
+   */
+  static Optional<Path> rootOf(String locationPattern) {
+    String location = locationPattern.replaceFirst("^classpath\\*:", "classpath:");
+    int wildcard = location.indexOf('*');
+    return ResourceCache.sourceOf(wildcard < 0 ? location
+        : location.substring(0, location.lastIndexOf('/', wildcard) + 1));
+  }
+
+  private String readAndHashResources(String locationPattern) {
+    try {
+      return fingerprint(Arrays.stream(resourcePatternResolver.getResources(locationPattern))
+          .filter(Resource::isReadable)
+          .sorted(Comparator.comparing(Resource::getDescription))
+          .map(PatternLibraryPages::hashResource));
+    } catch (IOException e) {
+      LOGGER.info("Could not resolve resources={}", locationPattern);
+      return "";
+    }
+  }
+
+  private static String hashResource(Resource resource) {
+    try (InputStream in = resource.getInputStream()) {
+      return resource.getFilename() + " " + DigestUtils.md5DigestAsHex(FileCopyUtils.copyToByteArray(in));
+    } catch (IOException e) {
+      return resource.getFilename();
+    }
+  }
+
+  private static String fingerprint(Stream<String> inputs) {
+    return DigestUtils.md5DigestAsHex(inputs.collect(Collectors.joining("\n")).getBytes(UTF_8));
+  }
+}
@@ -0,0 +1,368 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.PatternLibraryIndex.IndexedExample;
+import com.heron.patternlibrary.PatternLibraryIndex.IndexedGroup;
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+import com.heron.patternlibrary.cache.DocumentationCache;
+import com.heron.patternlibrary.cache.ResourceCache;
+import com.heron.patternlibrary.cache.ResourceChangedEvent;
+import com.heron.patternlibrary.cache.TemplateSourceCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.collectingAndThen;
+
+/**
+ * Holds the groups, entries and examples of the pattern library.
+ *
+ * The registry is built from the compile time {@link PatternLibraryIndex} (of
+ * every JAR on the classpath) once the application is ready and published as
+ * an immutable {@link Snapshot}, so that requests only need a single map
+ * lookup to find the component they are interested in. A
+ * {@link ComponentDiscovery} bean replaces the index, e.g. in the reactive mode.
+ *
+ * Building a snapshot only reads the index. The files of a group (its docs,
+ * templates and component directories) are read when one of its pages is
+ * requested for the first time.
+ *
+ * When a file of a group changes, only this group is built again and the
+ * other groups (with whatever they have read already) are taken over into the
+ * new snapshot.
+ */
+@Component
+public class PatternLibraryRegistry {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PatternLibraryRegistry.class);
+
+  @Autowired
+  private DocumentationCache documentation;
+
+  @Autowired
+  private TemplateSourceCache templateSources;
+
+  @Autowired
+  private PatternLibraryPages pages;
+
+  @Autowired
+  private ResourcePatternResolver resourcePatternResolver;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private ObjectProvider<ComponentDiscovery> discovery;
+
+  @Value("${patternlibrary.docs.prefix:/docs/}" )
+  private String docsPrefix;
+
+  @Value( "${spring.thymeleaf.prefix:/templates/}" )
+  private String thymeleafPrefix;
+
+  private volatile Snapshot snapshot;
+
+  // Before the listeners which read the snapshot once the application is ready, e.g. the search. The warm-up runs
+  // before the application is ready and has built the snapshot already, so it is kept instead of built again
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void refresh() {
+    getSnapshot();
+  }
+
+  // Runs after the caches dropped the changed file, so the page fingerprints are computed from the new content
+  @EventListener
+  @Order(Ordered.LOWEST_PRECEDENCE)
+  public void onResourceChanged(ResourceChangedEvent event) {
+    Snapshot current = getSnapshot();
+    // e.g. a layout, an asset, the index or a new component, which may change any page
+    Set<String> changedGroups = findGroups(current, event.getPath());
+    boolean full = changedGroups.isEmpty();
+    Snapshot refreshed = build(name -> full || changedGroups.contains(name) ? Optional.empty() : current.findGroup(name));
+    snapshot = refreshed;
+    LOGGER.info("Refreshed groups={} after file={} changed", full ? "all" : changedGroups, event.getPath());
+    eventPublisher.publishEvent(new RegistryRefreshedEvent(this, current, refreshed, changedGroups, full));
+  }
+
+  /**
+   * The names of the groups which own the file, i.e. which document it or have
+   * a component in its directory.
+   */
+  static Set<String> findGroups(Snapshot snapshot, Path path) {
+    return snapshot.getGroups()
+        .stream()
+        .filter(group -> group.getDocPath().flatMap(ResourceCache::sourceOf).filter(path::equals).isPresent()
+            || group.getEntries()
+            .stream()
+            .flatMap(e -> Stream.concat(Stream.of(e.getMainExample()), e.getExamples().stream()))
+            .map(PatternLibraryExample::getTemplatePath)
+            .flatMap(Optional::stream)
+            .map(templatePath -> templatePath.substring(0, templatePath.lastIndexOf('/') + 1))
+            .distinct()
+            .map(ResourceCache::sourceOf)
+            .anyMatch(dir -> dir.filter(path::startsWith).isPresent()))
+        .map(PatternLibraryGroup::getName)
+        .collect(Collectors.toSet());
+  }
+
+  public Snapshot getSnapshot() {
+    Snapshot current = snapshot;
+    if (current != null) {
+      return current;
+    }
+
+    // Requests arriving before the application is ready build the snapshot themselves (but only once)
+    synchronized (this) {
+      if (snapshot == null) {
+        snapshot = build(name -> Optional.empty());
+      }
+      return snapshot;
+    }
+  }
+
+  /**
+   * @param unchangedGroups the groups (by name) which can be taken over from
+   *                        the current snapshot
+   */
+  private Snapshot build(Function<String, Optional<PatternLibraryGroup>> unchangedGroups) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    ComponentDiscovery components = discovery.getIfAvailable();
+    PatternLibraryIndex index = components != null ? components.discover()
+        : PatternLibraryIndex.load(getClass().getClassLoader());
+    List<PatternLibraryGroup> groups = build(index, docsPrefix, thymeleafPrefix, documentation, templateSources,
+        unchangedGroups);
+
+    // Only lists the pages, their inputs are read once a page of the group is requested
+    Snapshot built = new Snapshot(groups, pages.getPages(groups), listDocuments());
+    sample.stop(meterRegistry.timer("patternlibrary.registry.build"));
+    LOGGER.info("Registered {} pattern library groups with {} pages", groups.size(), built.getPages().size());
+    return built;
+  }
+
+  // The docs which are not part of a group, e.g. linked from the intro
+  private Set<String> listDocuments() {
+    String location = docsPrefix.contains(":") ? docsPrefix : "classpath*:" + docsPrefix;
+    Set<String> documents = new HashSet<>();
+    try {
+      for (Resource resource : resourcePatternResolver.getResources(location + "*.md")) {
+        if (resource.isReadable() && StringUtils.hasLength(resource.getFilename())) {
+          documents.add(docsPrefix + resource.getFilename());
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.info("Could not list the docs of location={}", location);
+    }
+    return documents;
+  }
+
+  static List<PatternLibraryGroup> build(PatternLibraryIndex index, String docsPrefix, String thymeleafPrefix,
+                                         DocumentationCache documentation, TemplateSourceCache templateSources) {
+    return build(index, docsPrefix, thymeleafPrefix, documentation, templateSources, name -> Optional.empty());
+  }
+
+  static List<PatternLibraryGroup> build(PatternLibraryIndex index, String docsPrefix, String thymeleafPrefix,
+                                         DocumentationCache documentation, TemplateSourceCache templateSources,
+                                         Function<String, Optional<PatternLibraryGroup>> unchangedGroups) {
+    return index.getGroups()
+        .stream()
+        .map(group -> unchangedGroups.apply(group.getName())
+            .orElseGet(() -> createGroup(group, docsPrefix, thymeleafPrefix, documentation, templateSources)))
+        .sorted(Comparator.comparing(PatternLibraryGroup::getOrder))
+        .collect(collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  private static PatternLibraryGroup createGroup(IndexedGroup group, String docsPrefix, String thymeleafPrefix,
+                                                 DocumentationCache documentation,
+                                                 TemplateSourceCache templateSources) {
+    Optional<String> docPath = Optional.of(group.getDocs())
+        .filter(StringUtils::hasLength)
+        .map(docs -> docsPrefix + docs);
+
+    Map<String, List<PatternLibraryExample>> variants = group.getExamples()
+        .stream()
+        .filter(IndexedExample::isVariant)
+        .collect(Collectors.groupingBy(IndexedExample::getComponentUri,
+            Collectors.mapping(e -> createExample(e, thymeleafPrefix, templateSources), Collectors.toList())));
+
+    List<PatternLibraryEntry> entries = group.getExamples()
+        .stream()
+        .filter(e -> !e.isVariant())
+        .map(e -> {
+          PatternLibraryExample mainExample = createExample(e, thymeleafPrefix, templateSources);
+          return new PatternLibraryEntry(mainExample,
+              variants.getOrDefault(e.getUri(), List.of())
+                  .stream()
+                  .sorted(Comparator.comparing(PatternLibraryExample::getName)) // TODO: might need some other way to order the variants
+                  .collect(collectingAndThen(Collectors.toList(), Collections::unmodifiableList)),
+              () -> mainExample.getTemplatePath().flatMap(ComponentAssets::of),
+              documentation);
+        })
+        .sorted(Comparator.comparing(e -> e.getMainExample().getName()))
+        .collect(collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+
+    return new PatternLibraryGroup(group.getName(), group.getController(), docPath, entries, group.getOrder(),
+        documentation);
+  }
+
+  private static PatternLibraryExample createExample(IndexedExample example, String thymeleafPrefix,
+                                                     TemplateSourceCache templateSources) {
+    Optional<String> templatePath = Optional.of(example.getView())
+        .filter(StringUtils::hasLength)
+        .map(view -> thymeleafPrefix + view + ".html");
+    return new PatternLibraryExample(example.getName(), example.getUri(), templatePath, example.getBudget(),
+        example.isCacheable(), templateSources);
+  }
+
+  /**
+   * An immutable view of all registered groups and pages, indexed for constant
+   * time lookups by group name, by the URI of an entry's main example and by
+   * the subject of a page.
+   */
+  public static class Snapshot {
+    private final List<PatternLibraryGroup> groups;
+    private final List<PatternLibraryPage> pages;
+    private final Map<String, PatternLibraryGroup> groupsByName;
+    private final Map<String, PatternLibraryEntry> entriesByUri;
+    private final Map<String, PatternLibraryGroup> groupsByExampleUri;
+    private final Map<String, PatternLibraryExample> examplesByUri;
+    private final Map<String, PatternLibraryPage> pagesBySubject;
+    private final Set<String> documents;
+    private final long createdAt = System.currentTimeMillis();
+
+    public Snapshot(List<PatternLibraryGroup> groups) {
+      this(groups, Collections.emptyList());
+    }
+
+    Snapshot(List<PatternLibraryGroup> groups, List<PatternLibraryPage> pages) {
+      this(groups, pages, Collections.emptySet());
+    }
+
+    /**
+     * @param documents the docs which are not a page of their own, the docs of
+     *                  the index and docs pages are known anyway
+     */
+    Snapshot(List<PatternLibraryGroup> groups, List<PatternLibraryPage> pages, Set<String> documents) {
+      this.groups = Collections.unmodifiableList(new ArrayList<>(groups));
+      this.pages = Collections.unmodifiableList(new ArrayList<>(pages));
+      this.groupsByName = this.groups
+          .stream()
+          .collect(collectingAndThen(Collectors.toMap(PatternLibraryGroup::getName, Function.identity(), (a, b) -> a),
+              Collections::unmodifiableMap));
+      this.entriesByUri = this.groups
+          .stream()
+          .flatMap(group -> group.getEntries().stream())
+          .collect(collectingAndThen(Collectors.toMap(e -> e.getMainExample().getUri(), Function.identity(), (a, b) -> a),
+              Collections::unmodifiableMap));
+      this.groupsByExampleUri = this.groups
+          .stream()
+          .flatMap(group -> group.getEntries()
+              .stream()
+              .flatMap(e -> Stream.concat(Stream.of(e.getMainExample()), e.getExamples().stream()))
+              .map(example -> new SimpleImmutableEntry<>(example.getUri(), group)))
+          .collect(collectingAndThen(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a),
+              Collections::unmodifiableMap));
+      this.examplesByUri = this.groups
+          .stream()
+          .flatMap(group -> group.getEntries().stream())
+          .flatMap(e -> Stream.concat(Stream.of(e.getMainExample()), e.getExamples().stream()))
+          .collect(collectingAndThen(Collectors.toMap(PatternLibraryExample::getUri, Function.identity(), (a, b) -> a),
+              Collections::unmodifiableMap));
+      this.pagesBySubject = this.pages
+          .stream()
+          .collect(collectingAndThen(Collectors.toMap(page -> pageKey(page.getKind(), page.getSubject()),
+              Function.identity(), (a, b) -> a), Collections::unmodifiableMap));
+      this.documents = Stream.concat(documents.stream(), this.pages
+          .stream()
+          .filter(page -> page.getKind() == Kind.INDEX || page.getKind() == Kind.DOCS)
+          .map(PatternLibraryPage::getSubject))
+          .collect(collectingAndThen(Collectors.toSet(), Collections::unmodifiableSet));
+    }
+
+    private static String pageKey(Kind kind, String subject) {
+      return kind + " " + subject;
+    }
+
+    public List<PatternLibraryGroup> getGroups() {
+      return groups;
+    }
+
+    public List<PatternLibraryPage> getPages() {
+      return pages;
+    }
+
+    /**
+     * The paths of all docs which may be shown on a docs page.
+     */
+    public Set<String> getDocuments() {
+      return documents;
+    }
+
+    public boolean isDocument(String docPath) {
+      return docPath != null && documents.contains(docPath);
+    }
+
+    public long getCreatedAt() {
+      return createdAt;
+    }
+
+    public Optional<PatternLibraryPage> findPage(Kind kind, String subject) {
+      return subject == null ? Optional.empty() : Optional.ofNullable(pagesBySubject.get(pageKey(kind, subject)));
+    }
+
+    public Optional<PatternLibraryGroup> findGroup(String name) {
+      return name == null ? Optional.empty() : Optional.ofNullable(groupsByName.get(name));
+    }
+
+    public Optional<PatternLibraryEntry> findEntry(String uri) {
+      return uri == null ? Optional.empty() : Optional.ofNullable(entriesByUri.get(uri));
+    }
+
+    /**
+     * Finds an example (or variant) by its URI.
+     */
+    public Optional<PatternLibraryExample> findExample(String uri) {
+      return uri == null ? Optional.empty() : Optional.ofNullable(examplesByUri.get(uri));
+    }
+
+    /**
+     * Finds the group of an example (or variant) by its URI.
+     */
+    public Optional<PatternLibraryGroup> findGroupByExample(String uri) {
+      return uri == null ? Optional.empty() : Optional.ofNullable(groupsByExampleUri.get(uri));
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.heron.patternlibrary;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class PatternLibraryWebConfiguration implements WebMvcConfigurer {
+
+  @Autowired
+  private ConditionalRequestInterceptor conditionalRequestInterceptor;
+
+  @Autowired
+  private ImmutableAssetsInterceptor immutableAssetsInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(conditionalRequestInterceptor);
+    registry.addInterceptor(immutableAssetsInterceptor);
+  }
+}
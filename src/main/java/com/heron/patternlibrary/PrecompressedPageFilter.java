@@ -0,0 +1,241 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+import com.heron.patternlibrary.cache.CompressedPageCache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Optional;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Serves the index, details and docs pages (which embed the rendered docs and
+ * the template sources) gzip compressed to clients which accept it. A page is
+ * rendered and compressed once per ETag, every further request is answered
+ * with the cached bytes without rendering the page again. Pages which aren't
+ * cacheable are left to the {@link RenderedPageEtagFilter}.
+ *
+ * When streaming is enabled, a page which is not cached yet is sent
+ * uncompressed while it is rendered (instead of being buffered to compress it
+ * as a whole), and compressed for the following requests.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class PrecompressedPageFilter extends OncePerRequestFilter {
+
+  private static final String GZIP = "gzip";
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  @Autowired
+  private CompressedPageCache cache;
+
+  @Autowired
+  private ConditionalRequestInterceptor conditionalRequests;
+
+  @Autowired
+  private StreamingDialect streaming;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !"GET".equals(request.getMethod());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    Snapshot snapshot = registry.getSnapshot();
+    Optional<PatternLibraryPage> page = conditionalRequests.findCacheablePage(snapshot, request)
+        .filter(p -> p.getKind() != Kind.EXAMPLE);
+    if (!page.isPresent()) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    // The compressed representation has different bytes, so it needs an ETag of its own
+    String identityEtag = ConditionalRequestInterceptor.etag(page.get(), request.getQueryString());
+    String etag = gzipEtag(identityEtag);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+    if (new ServletWebRequest(request, response).checkNotModified(etag, snapshot.getCreatedAt())) {
+      return;
+    }
+
+    Optional<byte[]> cached = cache.get(etag);
+    if (cached.isPresent()) {
+      response.setContentType(MediaType.TEXT_HTML_VALUE + ";charset=UTF-8");
+      write(response, etag, cached.get());
+      return;
+    }
+
+    if (streaming.isEnabled()) {
+      response.setHeader(HttpHeaders.ETAG, identityEtag);
+      CapturingResponse capturing = new CapturingResponse(response);
+      try {
+        chain.doFilter(request, capturing);
+      } finally {
+        capturing.flush();
+      }
+      if (capturing.getStatus() == HttpServletResponse.SC_OK) {
+        cache.put(etag, capturing.content.toByteArray());
+      }
+      return;
+    }
+
+    ContentCachingResponseWrapper rendered = new ContentCachingResponseWrapper(response);
+    chain.doFilter(request, rendered);
+    if (rendered.getStatus() != HttpServletResponse.SC_OK) {
+      rendered.copyBodyToResponse();
+      return;
+    }
+    write(response, etag, cache.put(etag, rendered.getContentAsByteArray()));
+  }
+
+  private static void write(HttpServletResponse response, String etag, byte[] compressed) throws IOException {
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    response.setContentLength(compressed.length);
+    response.getOutputStream().write(compressed);
+  }
+
+  /**
+   * Writes through to the client and keeps a copy of the body.
+   */
+  private static class CapturingResponse extends HttpServletResponseWrapper {
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CapturingResponse(HttpServletResponse response) {
+      super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (outputStream == null) {
+        ServletOutputStream delegate = super.getOutputStream();
+        outputStream = new ServletOutputStream() {
+          @Override
+          public boolean isReady() {
+            return delegate.isReady();
+          }
+
+          @Override
+          public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+          }
+
+          @Override
+          public void write(int b) throws IOException {
+            delegate.write(b);
+            content.write(b);
+          }
+
+          @Override
+          public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            content.write(b, off, len);
+          }
+
+          @Override
+          public void flush() throws IOException {
+            delegate.flush();
+          }
+        };
+      }
+      return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      if (writer == null) {
+        writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+      }
+      return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      flush();
+      super.flushBuffer();
+    }
+
+    void flush() {
+      if (writer != null) {
+        writer.flush();
+      }
+    }
+  }
+
+  static String gzipEtag(String etag) {
+    return etag.substring(0, etag.length() - 1) + "-" + GZIP + "\"";
+  }
+
+  /**
+   * Whether the {@code Accept-Encoding} header allows gzip, i.e. it lists
+   * {@code gzip} or {@code *} without a quality of 0. An explicit
+   * {@code gzip} takes precedence over {@code *}, e.g. {@code *, gzip;q=0}
+   * refuses gzip.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    Double wildcard = null;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim();
+      if (name.equalsIgnoreCase(GZIP)) {
+        return quality(parts) > 0;
+      }
+      if (name.equals("*")) {
+        wildcard = quality(parts);
+      }
+    }
+    return wildcard != null && wildcard > 0;
+  }
+
+  private static double quality(String[] parts) {
+    double quality = 1;
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          quality = Double.parseDouble(parameter.substring(2));
+        } catch (NumberFormatException e) {
+          quality = 0;
+        }
+      }
+    }
+    return quality;
+  }
+}
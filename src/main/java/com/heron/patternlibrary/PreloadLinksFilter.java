@@ -0,0 +1,88 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Sends a {@code Link: <...>; rel=preload} header for every stylesheet and
+ * script of the layout of a page, so that the browser starts to load them
+ * (by their fingerprinted URL) before it has parsed the HTML. The header is
+ * sent for cached and streamed pages alike, so this runs before the filters
+ * which answer from a cache.
+ *
+ * Tomcat 9 can't send {@code 103 Early Hints}, so the hints are only response
+ * headers.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@Order(Ordered.LOWEST_PRECEDENCE - 20)
+public class PreloadLinksFilter extends OncePerRequestFilter {
+
+  private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  @Autowired
+  private ResourceUrlProvider resourceUrlProvider;
+
+  // The assets of component-layout.html
+  @Value("${patternlibrary.preload.example-assets:/pattern-library/bundle.css,/webjars/jquery/dist/jquery.slim.min.js,/webjars/bootstrap/dist/js/bootstrap.bundle.min.js}")
+  private List<String> exampleAssets;
+
+  // The assets of pattern-library/layout.html
+  @Value("${patternlibrary.preload.page-assets:/pattern-library/style-aiur.css,/pattern-library/script-aiur.js}")
+  private List<String> pageAssets;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    Optional<PatternLibraryPage> page = ConditionalRequestInterceptor
+        .findPage(registry.getSnapshot(), URL_PATH_HELPER.getPathWithinApplication(request), request);
+    if (page.isPresent()) {
+      for (String asset : page.get().getKind() == Kind.EXAMPLE ? exampleAssets : pageAssets) {
+        // e.g. the assets haven't been compiled
+        String url = resourceUrlProvider.getForLookupPath(asset);
+        if (url != null) {
+          link(request.getContextPath() + url).ifPresent(link -> response.addHeader(HttpHeaders.LINK, link));
+        }
+      }
+    }
+    chain.doFilter(request, response);
+  }
+
+  static Optional<String> link(String url) {
+    if (url.endsWith(".css")) {
+      return Optional.of("<" + url + ">; rel=preload; as=style");
+    }
+    if (url.endsWith(".js")) {
+      return Optional.of("<" + url + ">; rel=preload; as=script");
+    }
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,72 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Published when the registry swapped in a new snapshot after a resource
+ * changed. Only the groups which own the changed file have been built again,
+ * unless the refresh is a full one (e.g. after a layout changed or a
+ * component has been added), which may have changed every page.
+ */
+public class RegistryRefreshedEvent extends ApplicationEvent {
+
+  private final Snapshot previous;
+  private final Snapshot snapshot;
+  private final Set<String> changedGroups;
+  private final boolean full;
+
+  /**
+   * @param previous the snapshot which has been replaced
+   */
+  public RegistryRefreshedEvent(Object source, Snapshot previous, Snapshot snapshot, Set<String> changedGroups,
+                                boolean full) {
+    super(source);
+    this.previous = previous;
+    this.snapshot = snapshot;
+    this.changedGroups = Collections.unmodifiableSet(changedGroups);
+    this.full = full;
+  }
+
+  public Snapshot getPrevious() {
+    return previous;
+  }
+
+  public Snapshot getSnapshot() {
+    return snapshot;
+  }
+
+  public Set<String> getChangedGroups() {
+    return changedGroups;
+  }
+
+  public boolean isFull() {
+    return full;
+  }
+
+  /**
+   * The URIs of all examples (and variants) of the changed groups, before and
+   * after the refresh, so that removed examples are included as well.
+   */
+  public Set<String> getChangedExampleUris() {
+    return Stream.of(previous, snapshot)
+        .flatMap(s -> changedGroups.stream().map(s::findGroup))
+        .flatMap(group -> group.map(PatternLibraryGroup::getEntries).orElse(Collections.emptyList()).stream())
+        .flatMap(RegistryRefreshedEvent::examples)
+        .map(PatternLibraryExample::getUri)
+        .collect(Collectors.toSet());
+  }
+
+  private static Stream<PatternLibraryExample> examples(PatternLibraryEntry entry) {
+    return Stream.concat(Stream.of(entry.getMainExample()), entry.getExamples().stream());
+  }
+}
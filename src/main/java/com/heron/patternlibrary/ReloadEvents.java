@@ -0,0 +1,65 @@
+package com.heron.patternlibrary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends a {@code reload} server-sent event to every open page of the pattern
+ * library when the registry has been refreshed after a file changed, so that
+ * the browser shows the change (see {@code pattern-library/layout.html}).
+ *
+ * Every connection starts with a {@code hello} event with the id of this
+ * instance, so that a page also reloads when it reconnects to a restarted
+ * application, e.g. after the devtools restarted it for a changed controller.
+ */
+@Controller
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty("patternlibrary.watch.enabled")
+public class ReloadEvents {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReloadEvents.class);
+
+  public static final String PATH = "/pattern-library/reload";
+
+  private final String instanceId = UUID.randomUUID().toString();
+
+  private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+
+  @GetMapping(path = PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter subscribe() throws IOException {
+    // Kept open until the page is closed, the request doesn't hold a thread meanwhile
+    SseEmitter emitter = new SseEmitter(0L);
+    emitter.onCompletion(() -> emitters.remove(emitter));
+    emitter.onError(e -> emitters.remove(emitter));
+    emitter.send(SseEmitter.event().name("hello").data(instanceId));
+    emitters.add(emitter);
+    return emitter;
+  }
+
+  @EventListener
+  public void onRegistryRefreshed(RegistryRefreshedEvent event) {
+    String groups = event.isFull() ? "*" : String.join(",", event.getChangedGroups());
+    for (SseEmitter emitter : emitters) {
+      try {
+        emitter.send(SseEmitter.event().name("reload").data(groups));
+      } catch (IOException | IllegalStateException e) {
+        // The page has been closed
+        emitters.remove(emitter);
+      }
+    }
+    LOGGER.debug("Sent reload event to pages={}", emitters.size());
+  }
+}
@@ -0,0 +1,78 @@
+package com.heron.patternlibrary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The performance budget of an example, as declared with
+ * {@link com.heron.patternlibrary.annotations.PerformanceBudget}. A limit of
+ * {@code 0} means that there is no limit.
+ */
+public class RenderBudget {
+
+  public static final RenderBudget NONE = new RenderBudget(0, 0, 0);
+
+  private final long renderMillis;
+  private final long htmlBytes;
+  private final long domNodes;
+
+  public RenderBudget(long renderMillis, long htmlBytes, long domNodes) {
+    this.renderMillis = renderMillis;
+    this.htmlBytes = htmlBytes;
+    this.domNodes = domNodes;
+  }
+
+  public long getRenderMillis() {
+    return renderMillis;
+  }
+
+  public long getHtmlBytes() {
+    return htmlBytes;
+  }
+
+  public long getDomNodes() {
+    return domNodes;
+  }
+
+  public boolean isDefined() {
+    return renderMillis > 0 || htmlBytes > 0 || domNodes > 0;
+  }
+
+  public boolean isRenderMillisExceeded(long measured) {
+    return exceeds(measured, renderMillis);
+  }
+
+  public boolean isHtmlBytesExceeded(long measured) {
+    return exceeds(measured, htmlBytes);
+  }
+
+  public boolean isDomNodesExceeded(long measured) {
+    return exceeds(measured, domNodes);
+  }
+
+  /**
+   * Returns a description of every limit exceeded by the measured render.
+   */
+  public List<String> getViolations(long measuredMillis, long measuredBytes, long measuredNodes) {
+    List<String> violations = new ArrayList<>();
+    if (isRenderMillisExceeded(measuredMillis)) {
+      violations.add("render time " + measuredMillis + " ms > " + renderMillis + " ms");
+    }
+    if (isHtmlBytesExceeded(measuredBytes)) {
+      violations.add("HTML size " + measuredBytes + " bytes > " + htmlBytes + " bytes");
+    }
+    if (isDomNodesExceeded(measuredNodes)) {
+      violations.add("DOM nodes " + measuredNodes + " > " + domNodes);
+    }
+    return violations;
+  }
+
+  private static boolean exceeds(long measured, long limit) {
+    return limit > 0 && measured > limit;
+  }
+
+  @Override
+  public String toString() {
+    return "RenderBudget{renderMillis=" + renderMillis + ", htmlBytes=" + htmlBytes + ", domNodes=" + domNodes + '}';
+  }
+}
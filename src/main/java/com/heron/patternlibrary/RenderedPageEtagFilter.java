@@ -0,0 +1,47 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Derives the ETag of the pages which aren't cacheable (see
+ * {@link PatternLibraryPage#isCacheable()}) from their rendered body, because
+ * their fingerprint doesn't cover their model. These pages are rendered for
+ * every request, but an unchanged page is still answered with a 304 instead
+ * of being sent again.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class RenderedPageEtagFilter extends ShallowEtagHeaderFilter {
+
+  private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  @Autowired
+  private ConditionalRequestInterceptor conditionalRequests;
+
+  @Autowired
+  private StreamingDialect streaming;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    Optional<PatternLibraryPage> page = ConditionalRequestInterceptor
+        .findPage(registry.getSnapshot(), URL_PATH_HELPER.getPathWithinApplication(request), request)
+        .filter(p -> !conditionalRequests.isCacheable(p, request))
+        // A streamed page would be buffered as a whole to hash it
+        .filter(p -> p.getKind() == Kind.EXAMPLE || !streaming.isEnabled());
+    return !page.isPresent();
+  }
+}
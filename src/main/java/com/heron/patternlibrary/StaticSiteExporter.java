@@ -0,0 +1,250 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.cache.CompressedPageCache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Pre-renders the whole pattern library as a static site. The application is
+ * started on a random port and every page (including the assets the pages
+ * refer to) is fetched in parallel and written to the output directory, with
+ * the links rewritten to the exported files.
+ *
+ * The fingerprint of every exported page is stored in a manifest in the
+ * output directory, so that the next export only renders the pages whose
+ * inputs changed.
+ *
+ * Every text file is written gzip compressed next to it as well, so that a web
+ * server can serve the precompressed file (e.g. nginx' {@code gzip_static}).
+ *
+ * Usage: {@code StaticSiteExporter [output directory] [application arguments...]}
+ */
+public class StaticSiteExporter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StaticSiteExporter.class);
+
+  static final String MANIFEST = ".pattern-library-export.properties";
+
+  private static final Pattern LINK = Pattern.compile("(href|src)=\"([^\"]*)\"");
+
+  private static final Pattern COMPRESSIBLE = Pattern.compile(".*\\.(html|css|js|svg|json|txt)$");
+
+  private final RestTemplate restTemplate = new RestTemplate();
+  private final String baseUrl;
+  private final Path outputDir;
+  private final int threads;
+
+  public StaticSiteExporter(String baseUrl, Path outputDir, int threads) {
+    this.baseUrl = baseUrl;
+    this.outputDir = outputDir;
+    this.threads = threads;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Path outputDir = Paths.get(args.length > 0 ? args[0] : "build/static-site");
+    String[] applicationArgs = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : new String[0];
+
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+        .properties("server.port=0")
+        .run(applicationArgs)) {
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      List<PatternLibraryPage> pages = context.getBean(PatternLibraryRegistry.class).getSnapshot().getPages();
+
+      new StaticSiteExporter("http://localhost:" + port, outputDir, Runtime.getRuntime().availableProcessors())
+          .export(pages);
+    }
+  }
+
+  public void export(List<PatternLibraryPage> pages) throws IOException, InterruptedException {
+    Files.createDirectories(outputDir);
+
+    Properties manifest = loadManifest();
+    Properties exported = new Properties();
+    Map<String, String> exportedUrls = pages.stream()
+        .collect(Collectors.toMap(page -> normalize(page.getUrl()), StaticSiteExporter::exportedUrl, (a, b) -> a));
+    Set<String> assets = ConcurrentHashMap.newKeySet();
+    AtomicInteger rendered = new AtomicInteger();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (PatternLibraryPage page : pages) {
+        results.add(executor.submit(() -> {
+          Path file = toFile(exportedUrl(page));
+          if (page.getFingerprint().equals(manifest.getProperty(page.getUrl())) && Files.exists(file)) {
+            // The page is up to date, but the assets it refers to may still be missing
+            rewriteLinks(new String(Files.readAllBytes(file), UTF_8), exportedUrls, assets);
+            exported.setProperty(page.getUrl(), page.getFingerprint());
+            return null;
+          }
+
+          String html = new String(fetch(page.getUrl()), UTF_8);
+          write(file, rewriteLinks(html, exportedUrls, assets).getBytes(UTF_8));
+          exported.setProperty(page.getUrl(), page.getFingerprint());
+          rendered.incrementAndGet();
+          return null;
+        }));
+      }
+      List<String> failures = collectFailures(results);
+
+      results.clear();
+      for (String asset : assets) {
+        // Assets are fingerprinted by the resource chain, so an existing file never needs to be written again
+        results.add(executor.submit(() -> {
+          Path file = toFile(asset);
+          if (!Files.exists(file)) {
+            write(file, fetch(asset));
+          }
+        }));
+      }
+      failures.addAll(collectFailures(results));
+
+      storeManifest(exported);
+      LOGGER.info("Exported pattern library to dir={} (rendered={}, unchanged={}, assets={})",
+          outputDir, rendered.get(), exported.size() - rendered.get(), assets.size());
+
+      if (!failures.isEmpty()) {
+        throw new IllegalStateException("Could not export " + failures.size() + " pages or assets: " + failures);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Points every link to a page of the pattern library to its exported file
+   * and remembers all other local links as assets which need to be exported.
+   */
+  static String rewriteLinks(String html, Map<String, String> exportedUrls, Set<String> assets) {
+    Matcher matcher = LINK.matcher(html);
+    StringBuffer sb = new StringBuffer();
+    while (matcher.find()) {
+      String url = matcher.group(2).replace("&amp;", "&");
+      String exportedUrl = exportedUrls.get(normalize(url));
+
+      if (exportedUrl != null) {
+        url = exportedUrl;
+      } else if (url.startsWith("/") && !url.startsWith("//") && !exportedUrls.containsValue(url)) {
+        assets.add(url);
+      }
+      matcher.appendReplacement(sb, Matcher.quoteReplacement(matcher.group(1) + "=\"" + url.replace("&", "&amp;") + "\""));
+    }
+    matcher.appendTail(sb);
+    return sb.toString();
+  }
+
+  static String exportedUrl(PatternLibraryPage page) {
+    switch (page.getKind()) {
+      case INDEX:
+        return "/";
+      case DOCS:
+        return StringUtils.stripFilenameExtension(page.getSubject()) + "/";
+      case DETAILS:
+        return "/library" + page.getSubject() + "/";
+      default:
+        return page.getSubject() + "/";
+    }
+  }
+
+  private static String normalize(String url) {
+    try {
+      return URLDecoder.decode(url, UTF_8.name());
+    } catch (IOException | IllegalArgumentException e) {
+      return url;
+    }
+  }
+
+  private byte[] fetch(String url) {
+    byte[] body = restTemplate.getForObject(URI.create(baseUrl + url), byte[].class);
+    return body == null ? new byte[0] : body;
+  }
+
+  private Path toFile(String url) {
+    String path = url.replaceFirst("^/+", "");
+    return outputDir.resolve(url.endsWith("/") ? path + "index.html" : path);
+  }
+
+  private static void write(Path file, byte[] content) {
+    try {
+      Files.createDirectories(file.getParent());
+      Files.write(file, content);
+      if (isCompressible(file)) {
+        Files.write(Paths.get(file + ".gz"), CompressedPageCache.gzip(content));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static boolean isCompressible(Path file) {
+    return COMPRESSIBLE.matcher(file.getFileName().toString()).matches();
+  }
+
+  private static List<String> collectFailures(List<Future<?>> results) throws InterruptedException {
+    List<String> failures = new ArrayList<>();
+    for (Future<?> result : results) {
+      try {
+        result.get();
+      } catch (ExecutionException e) {
+        if (!(e.getCause() instanceof RestClientException || e.getCause() instanceof IOException
+            || e.getCause() instanceof UncheckedIOException)) {
+          throw new IllegalStateException(e.getCause());
+        }
+        LOGGER.warn("Could not export page", e.getCause());
+        failures.add(e.getCause().getMessage());
+      }
+    }
+    return failures;
+  }
+
+  private Properties loadManifest() throws IOException {
+    Properties manifest = new Properties();
+    Path file = outputDir.resolve(MANIFEST);
+    if (Files.exists(file)) {
+      try (InputStream in = Files.newInputStream(file)) {
+        manifest.load(in);
+      }
+    }
+    return manifest;
+  }
+
+  private void storeManifest(Properties manifest) throws IOException {
+    try (OutputStream out = Files.newOutputStream(outputDir.resolve(MANIFEST))) {
+      manifest.store(out, "Fingerprints of the exported pattern library pages");
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.heron.patternlibrary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.processor.element.AbstractElementTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Adds the {@code <pl:flush/>} element, which sends everything rendered so
+ * far to the client when {@code patternlibrary.rendering.streaming} is
+ * enabled. The views are rendered straight into the response, so without it
+ * the first byte leaves the server only when the response buffer is full.
+ */
+@Component
+public class StreamingDialect extends AbstractProcessorDialect {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StreamingDialect.class);
+
+  public static final String PREFIX = "pl";
+
+  @Value("${patternlibrary.rendering.streaming:false}")
+  private boolean enabled;
+
+  public StreamingDialect() {
+    super("Pattern Library", PREFIX, 1000);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @Override
+  public Set<IProcessor> getProcessors(String dialectPrefix) {
+    return Collections.singleton(new FlushProcessor(dialectPrefix));
+  }
+
+  private class FlushProcessor extends AbstractElementTagProcessor {
+
+    FlushProcessor(String dialectPrefix) {
+      super(TemplateMode.HTML, dialectPrefix, "flush", true, null, false, 1000);
+    }
+
+    @Override
+    protected void doProcess(ITemplateContext context, IProcessableElementTag tag,
+                             IElementTagStructureHandler structureHandler) {
+      structureHandler.removeElement();
+      if (!enabled || !(context instanceof IWebContext)) {
+        return;
+      }
+
+      try {
+        ((IWebContext) context).getResponse().flushBuffer();
+      } catch (IOException e) {
+        // e.g. the client went away, which the next write will notice as well
+        LOGGER.info("Could not flush the response of template={}", context.getTemplateData().getTemplate(), e);
+      }
+    }
+  }
+}
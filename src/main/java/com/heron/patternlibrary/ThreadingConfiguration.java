@@ -0,0 +1,73 @@
+package com.heron.patternlibrary;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Handles the requests on virtual threads instead of Tomcat's thread pool when
+ * {@code patternlibrary.threads.virtual} is enabled. Most of the work of a
+ * request is blocking on resource reads, which doesn't pin a virtual thread.
+ *
+ * Virtual threads need Java 21 at runtime, so they are looked up reflectively
+ * and the thread pool is kept on older runtimes.
+ */
+@Configuration
+public class ThreadingConfiguration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ThreadingConfiguration.class);
+
+  @Bean(destroyMethod = "shutdown")
+  @ConditionalOnProperty("patternlibrary.threads.virtual")
+  public VirtualThreads virtualThreads() {
+    return new VirtualThreads(newVirtualThreadPerTaskExecutor());
+  }
+
+  @Bean
+  @ConditionalOnProperty("patternlibrary.threads.virtual")
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsCustomizer(VirtualThreads virtualThreads) {
+    return protocolHandler -> virtualThreads.getExecutor().ifPresent(executor -> {
+      protocolHandler.setExecutor(executor);
+      LOGGER.info("Handling requests on virtual threads");
+    });
+  }
+
+  public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+    try {
+      return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+    } catch (ReflectiveOperationException e) {
+      LOGGER.warn("Virtual threads need Java 21, using platform threads instead (java.version={})",
+          System.getProperty("java.version"));
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Holds the executor of the requests, which Tomcat doesn't shut down as it
+   * didn't create it. It isn't a bean of its own, as an {@link java.util.concurrent.Executor}
+   * bean would replace the {@code applicationTaskExecutor} of Spring Boot.
+   */
+  public static class VirtualThreads {
+    private final Optional<ExecutorService> executor;
+
+    VirtualThreads(Optional<ExecutorService> executor) {
+      this.executor = executor;
+    }
+
+    public Optional<ExecutorService> getExecutor() {
+      return executor;
+    }
+
+    public void shutdown() {
+      executor.ifPresent(ExecutorService::shutdown);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+import com.heron.patternlibrary.cache.DocumentationCache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Requests every page of the pattern library once at startup, in parallel, to
+ * fill the template cache and the caches of the pattern library before the
+ * first real request. Application runners are called before the readiness
+ * state changes to {@code ACCEPTING_TRAFFIC}, so the readiness probe reports
+ * UP only after the warm-up.
+ *
+ * Enabled by default, disable it with {@code patternlibrary.warmup.enabled=false}.
+ * With {@code patternlibrary.warmup.exit=true} the application exits after the
+ * warm-up (see {@link Application#main(String[])}), with the exit code 1 if a
+ * page failed. This is the training run of the class data sharing archive
+ * (see the {@code cdsArchive} task).
+ */
+@Component
+public class WarmUp implements ApplicationRunner, ExitCodeGenerator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WarmUp.class);
+
+  private final RestTemplate restTemplate = new RestTemplate();
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  @Autowired
+  private DocumentationCache documentation;
+
+  @Autowired
+  private ApplicationContext context;
+
+  @Value("${patternlibrary.warmup.enabled:true}")
+  private boolean enabled;
+
+  @Value("${patternlibrary.threads.virtual:false}")
+  private boolean virtualThreads;
+
+  private final AtomicInteger failures = new AtomicInteger();
+
+  @Override
+  public void run(ApplicationArguments args) throws InterruptedException {
+    // e.g. a test with a mock servlet environment
+    if (!enabled || !(context instanceof WebServerApplicationContext)) {
+      return;
+    }
+
+    String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    Snapshot snapshot = registry.getSnapshot();
+    List<PatternLibraryPage> pages = snapshot.getPages();
+    List<Callable<Object>> requests = pages.stream()
+        .map(page -> Executors.callable(() -> {
+          try {
+            restTemplate.getForObject(URI.create(baseUrl + page.getUrl()), byte[].class);
+          } catch (RuntimeException e) {
+            LOGGER.info("Could not warm up page={}", page.getUrl(), e);
+            failures.incrementAndGet();
+          }
+        }))
+        .collect(Collectors.toCollection(ArrayList::new));
+    // Also renders the docs which are not a page of their own, the others are a cache hit
+    snapshot.getDocuments().forEach(docPath -> requests.add(Executors.callable(() -> {
+      documentation.get(docPath);
+    })));
+
+    long start = System.nanoTime();
+    ExecutorService executor = (virtualThreads ? ThreadingConfiguration.newVirtualThreadPerTaskExecutor()
+        : Optional.<ExecutorService>empty())
+        .orElseGet(() -> Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()));
+    try {
+      executor.invokeAll(requests);
+    } finally {
+      executor.shutdown();
+    }
+    LOGGER.info("Warmed up {} pages and {} docs in {}ms (failed={})", pages.size(), snapshot.getDocuments().size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failures.get());
+  }
+
+  @Override
+  public int getExitCode() {
+    return failures.get() == 0 ? 0 : 1;
+  }
+}
@@ -0,0 +1,21 @@
+package com.heron.patternlibrary.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an example whose rendered HTML only depends on its templates, so it is
+ * rendered once and then served from memory until a template changes. Use
+ * {@code @CacheableExample(false)} to exclude an example of a
+ * {@link PatternLibraryComponents#cacheable() cacheable} controller.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheableExample {
+
+  boolean value() default true;
+}
@@ -14,4 +14,9 @@ public @interface PatternLibraryComponents {
   String docs() default "";
 
   int order() default 0;
+
+  /**
+   * Whether the rendered HTML of all examples is cached, see {@link CacheableExample}.
+   */
+  boolean cacheable() default false;
 }
@@ -0,0 +1,34 @@
+package com.heron.patternlibrary.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the performance budget of the examples of a
+ * {@link PatternLibraryComponents} controller (or of a single example, when
+ * used on a handler method). Limits which are {@code 0} are not checked,
+ * limits of a method override the limits of its controller.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PerformanceBudget {
+
+  /**
+   * The maximum time in milliseconds the server may take to render the example.
+   */
+  long renderMillis() default 0;
+
+  /**
+   * The maximum size of the rendered HTML in bytes.
+   */
+  long htmlBytes() default 0;
+
+  /**
+   * The maximum number of elements of the rendered HTML.
+   */
+  long domNodes() default 0;
+}
@@ -0,0 +1,180 @@
+package com.heron.patternlibrary.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A small, thread safe LRU cache which evicts the least recently used entry
+ * as soon as it holds more than {@code maxEntries} entries, or (if the values
+ * are weighed, e.g. by their size in bytes) as soon as the total weight of
+ * the entries exceeds {@code maxWeight}.
+ */
+public class BoundedCache<K, V> {
+
+  private final int maxEntries;
+  private final long maxWeight;
+  private final ToLongFunction<? super V> weigher;
+  private final Map<K, V> entries;
+  private long weight;
+  // Counts the invalidations, so that a value loaded meanwhile isn't cached
+  private long generation;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public BoundedCache(int maxEntries) {
+    this(maxEntries, Long.MAX_VALUE, value -> 0);
+  }
+
+  public BoundedCache(int maxEntries, long maxWeight, ToLongFunction<? super V> weigher) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be positive, was " + maxEntries);
+    }
+    if (maxWeight < 1) {
+      throw new IllegalArgumentException("maxWeight must be positive, was " + maxWeight);
+    }
+    this.maxEntries = maxEntries;
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        if (size() > BoundedCache.this.maxEntries) {
+          weight -= BoundedCache.this.weigher.applyAsLong(eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached value for the key, or loads (and caches) it. The loader
+   * is called outside of the lock, so two threads may load the same key at the
+   * same time, but they will never block each other. A value is returned but
+   * not cached if the cache has been invalidated while it was loaded, because
+   * it may have been loaded from the outdated source.
+   */
+  public V get(K key, Function<K, V> loader) {
+    long loadedGeneration;
+    synchronized (entries) {
+      V value = entries.get(key);
+      if (value != null) {
+        hits.incrementAndGet();
+        return value;
+      }
+      loadedGeneration = generation;
+    }
+
+    misses.incrementAndGet();
+    V value = loader.apply(key);
+    if (value != null) {
+      synchronized (entries) {
+        if (generation == loadedGeneration) {
+          put(key, value);
+        }
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Returns the cached value for the key, or {@code null}, for values which
+   * can only be produced by the caller (e.g. while handling a request).
+   */
+  public V getIfPresent(K key) {
+    synchronized (entries) {
+      V value = entries.get(key);
+      (value != null ? hits : misses).incrementAndGet();
+      return value;
+    }
+  }
+
+  /**
+   * Whether the key is cached, without counting a hit or miss.
+   */
+  public boolean contains(K key) {
+    synchronized (entries) {
+      return entries.containsKey(key);
+    }
+  }
+
+  public void put(K key, V value) {
+    synchronized (entries) {
+      V previous = entries.put(key, value);
+      weight += weigher.applyAsLong(value) - (previous == null ? 0 : weigher.applyAsLong(previous));
+
+      // The entries are in access order, so the least recently used ones are evicted first
+      Iterator<V> values = entries.values().iterator();
+      while (weight > maxWeight && values.hasNext()) {
+        weight -= weigher.applyAsLong(values.next());
+        values.remove();
+      }
+    }
+  }
+
+  public void invalidate(K key) {
+    synchronized (entries) {
+      generation++;
+      V removed = entries.remove(key);
+      if (removed != null) {
+        weight -= weigher.applyAsLong(removed);
+      }
+    }
+  }
+
+  public void invalidateIf(Predicate<? super Map.Entry<K, V>> predicate) {
+    synchronized (entries) {
+      generation++;
+      Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<K, V> entry = iterator.next();
+        if (predicate.test(entry)) {
+          weight -= weigher.applyAsLong(entry.getValue());
+          iterator.remove();
+        }
+      }
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (entries) {
+      generation++;
+      entries.clear();
+      weight = 0;
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public long getWeight() {
+    synchronized (entries) {
+      return weight;
+    }
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+}
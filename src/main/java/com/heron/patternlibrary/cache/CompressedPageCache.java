@@ -0,0 +1,56 @@
+package com.heron.patternlibrary.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the gzip compressed body of rendered pages by their ETag, so that a
+ * page is compressed once per registry snapshot instead of on every request.
+ * The ETag already changes with every input of the page, so entries never
+ * need to be invalidated, the outdated ones are simply evicted.
+ */
+@Component
+public class CompressedPageCache {
+
+  private final BoundedCache<String, byte[]> cache;
+
+  public CompressedPageCache(@Value("${patternlibrary.cache.compressed-pages.max-entries:200}") int maxEntries) {
+    this.cache = new BoundedCache<>(maxEntries);
+  }
+
+  public Optional<byte[]> get(String etag) {
+    return Optional.ofNullable(cache.getIfPresent(etag));
+  }
+
+  public byte[] put(String etag, byte[] content) {
+    byte[] compressed = gzip(content);
+    cache.put(etag, compressed);
+    return compressed;
+  }
+
+  public BoundedCache<String, byte[]> getCache() {
+    return cache;
+  }
+
+  public static byte[] gzip(byte[] content) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+    // The result is cached, so the extra CPU time of the best compression is spent only once
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+      {
+        def.setLevel(Deflater.BEST_COMPRESSION);
+      }
+    }) {
+      gzip.write(content);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
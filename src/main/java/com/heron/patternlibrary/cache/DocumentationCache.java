@@ -0,0 +1,49 @@
+package com.heron.patternlibrary.cache;
+
+import com.heron.patternlibrary.PatternLibraryController;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Caches the rendered HTML of markdown documentation by resource path, so that
+ * a cache hit neither reads the file nor parses the markdown again.
+ */
+@Component
+public class DocumentationCache extends ResourceCache<DocumentationCache.RenderedDocument> {
+
+  public DocumentationCache(@Value("${patternlibrary.cache.documentation.max-entries:500}") int maxEntries) {
+    super(maxEntries);
+  }
+
+  public Optional<String> getHtml(String resourcePath) {
+    return get(resourcePath).map(RenderedDocument::getHtml);
+  }
+
+  @Override
+  protected RenderedDocument create(String markdown, String contentHash) {
+    String html = getMeterRegistry().timer("patternlibrary.markdown.render")
+        .record(() -> PatternLibraryController.markdownToHTML(markdown));
+    return new RenderedDocument(html, contentHash);
+  }
+
+  public static class RenderedDocument {
+    private final String html;
+    private final String contentHash;
+
+    public RenderedDocument(String html, String contentHash) {
+      this.html = html;
+      this.contentHash = contentHash;
+    }
+
+    public String getHtml() {
+      return html;
+    }
+
+    public String getContentHash() {
+      return contentHash;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.heron.patternlibrary.cache;
+
+import com.heron.patternlibrary.RegistryRefreshedEvent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Caches the rendered HTML of cacheable examples, bounded by the number of
+ * examples and by the total size of their HTML. The key contains the
+ * fingerprint of the example page, which changes with its templates and its
+ * controller, so an outdated entry is never found again. The entries of the
+ * changed groups are dropped as soon as the registry has been refreshed, all
+ * other entries are kept.
+ */
+@Component
+public class ExampleHtmlCache {
+
+  private final BoundedCache<String, RenderedExample> cache;
+
+  public ExampleHtmlCache(@Value("${patternlibrary.cache.examples.max-entries:1000}") int maxEntries,
+                          @Value("${patternlibrary.cache.examples.max-bytes:16777216}") long maxBytes) {
+    this.cache = new BoundedCache<>(maxEntries, maxBytes, example -> example.getBody().length);
+  }
+
+  public static String key(String uri, String fingerprint) {
+    return fingerprint + " " + uri;
+  }
+
+  static String uriOf(String key) {
+    return key.substring(key.indexOf(' ') + 1);
+  }
+
+  public Optional<RenderedExample> get(String key) {
+    return Optional.ofNullable(cache.getIfPresent(key));
+  }
+
+  public void put(String key, RenderedExample example) {
+    cache.put(key, example);
+  }
+
+  public BoundedCache<String, RenderedExample> getCache() {
+    return cache;
+  }
+
+  @EventListener
+  public void onRegistryRefreshed(RegistryRefreshedEvent event) {
+    if (event.isFull()) {
+      cache.invalidateAll();
+      return;
+    }
+
+    Set<String> uris = event.getChangedExampleUris();
+    cache.invalidateIf(e -> uris.contains(uriOf(e.getKey())));
+  }
+
+  public static class RenderedExample {
+    private final byte[] body;
+    private final String contentType;
+
+    public RenderedExample(byte[] body, String contentType) {
+      this.body = body;
+      this.contentType = contentType;
+    }
+
+    public byte[] getBody() {
+      return body;
+    }
+
+    public String getContentType() {
+      return contentType;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package com.heron.patternlibrary.cache;
+
+import com.heron.patternlibrary.PatternLibraryController;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads text resources once and caches whatever is derived from their content
+ * by resource, so that different paths of the same resource (e.g.
+ * {@code classpath:/docs/intro.md} and {@code /docs/intro.md}) share an entry.
+ * Entries are dropped when the {@link ResourceWatcher} notices that their file
+ * changed.
+ *
+ * Resources which don't exist are remembered in a separate, small cache, so
+ * that lookups of missing files can't evict the cached values.
+ */
+public abstract class ResourceCache<T> {
+
+  private static final int MAX_MISSES = 100;
+
+  private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+  private final BoundedCache<Resource, CachedResource<T>> cache;
+  private final BoundedCache<Resource, Boolean> missing = new BoundedCache<>(MAX_MISSES);
+
+  // Replaced by the registry of the application, see setMeterRegistry
+  private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  protected ResourceCache(int maxEntries) {
+    this.cache = new BoundedCache<>(maxEntries);
+  }
+
+  public Optional<T> get(String resourcePath) {
+    Resource resource = resourceLoader.getResource(resourcePath);
+    AtomicReference<T> value = new AtomicReference<>();
+    // A miss is only remembered if no file changed while the resource was looked up
+    missing.get(resource, key -> {
+      CachedResource<T> cached = cache.get(key, this::load);
+      if (cached == null) {
+        return Boolean.TRUE;
+      }
+      value.set(cached.value);
+      return null;
+    });
+    return Optional.ofNullable(value.get());
+  }
+
+  /**
+   * Whether the resource has been read already, so {@link #get(String)} won't
+   * read it.
+   */
+  public boolean isCached(String resourcePath) {
+    Resource resource = resourceLoader.getResource(resourcePath);
+    return cache.contains(resource) || missing.contains(resource);
+  }
+
+  /**
+   * Caches the content of a resource which has been read elsewhere (e.g.
+   * without blocking, see {@link com.heron.patternlibrary.reactive.ReactiveResourceReader}),
+   * an empty content for a missing resource.
+   */
+  public void put(String resourcePath, Optional<String> content) {
+    Resource resource = resourceLoader.getResource(resourcePath);
+    if (content.isPresent()) {
+      cache.put(resource, new CachedResource<>(sourceOf(resource),
+          create(content.get(), DigestUtils.md5DigestAsHex(content.get().getBytes(UTF_8)))));
+    } else {
+      missing.put(resource, Boolean.TRUE);
+    }
+  }
+
+  public BoundedCache<Resource, CachedResource<T>> getCache() {
+    return cache;
+  }
+
+  @Autowired
+  public void setMeterRegistry(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  protected MeterRegistry getMeterRegistry() {
+    return meterRegistry;
+  }
+
+  @EventListener
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void onResourceChanged(ResourceChangedEvent event) {
+    cache.invalidateIf(e -> e.getValue().source.filter(event.getPath()::equals).isPresent());
+    // A missing resource may just have been created
+    missing.invalidateAll();
+  }
+
+  protected abstract T create(String content, String contentHash);
+
+  private CachedResource<T> load(Resource resource) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    Optional<String> content = PatternLibraryController.extractResource(resource);
+    sample.stop(meterRegistry.timer("patternlibrary.resource.read", "outcome",
+        content.isPresent() ? "found" : "missing"));
+    return content
+        .map(c -> new CachedResource<>(sourceOf(resource), create(c, DigestUtils.md5DigestAsHex(c.getBytes(UTF_8)))))
+        .orElse(null);
+  }
+
+  /**
+   * The file of a resource, as reported by {@link ResourceChangedEvent#getPath()}.
+   */
+  public static Optional<Path> sourceOf(String resourcePath) {
+    return sourceOf(new DefaultResourceLoader().getResource(resourcePath));
+  }
+
+  private static Optional<Path> sourceOf(Resource resource) {
+    try {
+      return Optional.of(resource.getFile().toPath().toAbsolutePath().normalize());
+    } catch (IOException e) {
+      // e.g. a resource inside of a JAR, which can't change anyway
+      return Optional.empty();
+    }
+  }
+
+  public static class CachedResource<T> {
+    private final Optional<Path> source;
+    private final T value;
+
+    CachedResource(Optional<Path> source, T value) {
+      this.source = source;
+      this.value = value;
+    }
+  }
+}
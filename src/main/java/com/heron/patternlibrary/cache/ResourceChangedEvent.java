@@ -0,0 +1,23 @@
+package com.heron.patternlibrary.cache;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.nio.file.Path;
+
+/**
+ * Published by the {@link ResourceWatcher} whenever a watched file is created,
+ * modified or deleted.
+ */
+public class ResourceChangedEvent extends ApplicationEvent {
+
+  private final Path path;
+
+  public ResourceChangedEvent(Object source, Path path) {
+    super(source);
+    this.path = path;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+}
@@ -0,0 +1,123 @@
+package com.heron.patternlibrary.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches the template, docs and asset directories and the component index
+ * (which the annotation processor writes again when a controller has been
+ * compiled) during development and publishes a {@link ResourceChangedEvent}
+ * for every changed file, so that caches can drop what they have cached for
+ * this file.
+ *
+ * Only locations which are directories on the file system can be watched,
+ * locations inside of a JAR are skipped. The default locations are on the
+ * classpath, i.e. in the build output, so an edit of a source file is only
+ * noticed once it has been copied there by a rebuild.
+ */
+@Component
+@ConditionalOnProperty("patternlibrary.watch.enabled")
+public class ResourceWatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResourceWatcher.class);
+
+  private final ApplicationEventPublisher eventPublisher;
+  private final ResourceLoader resourceLoader;
+  private final List<String> locations;
+
+  private WatchService watchService;
+
+  public ResourceWatcher(ApplicationEventPublisher eventPublisher, ResourceLoader resourceLoader,
+                         @Value("${patternlibrary.watch.locations:classpath:/templates/,classpath:/docs/,classpath:/static/,classpath:/META-INF/pattern-library/}") List<String> locations) {
+    this.eventPublisher = eventPublisher;
+    this.resourceLoader = resourceLoader;
+    this.locations = locations;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() throws IOException {
+    watchService = FileSystems.getDefault().newWatchService();
+
+    for (String location : locations) {
+      Resource resource = resourceLoader.getResource(location);
+      try {
+        registerAll(resource.getFile().toPath().toAbsolutePath().normalize());
+      } catch (IOException e) {
+        LOGGER.info("Cannot watch location={} as it is not a directory on the file system", location);
+      }
+    }
+
+    Thread thread = new Thread(this::watch, "pattern-library-watcher");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @PreDestroy
+  public void stop() throws IOException {
+    if (watchService != null) {
+      watchService.close();
+    }
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        Path dir = (Path) key.watchable();
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == OVERFLOW) {
+            continue;
+          }
+
+          Path path = dir.resolve((Path) event.context());
+          if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+            registerAll(path);
+          }
+
+          LOGGER.debug("Resource changed path={}", path);
+          eventPublisher.publishEvent(new ResourceChangedEvent(this, path));
+        }
+
+        key.reset();
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      LOGGER.debug("Stopped watching resources");
+    } catch (IOException e) {
+      LOGGER.warn("Stopped watching resources", e);
+    }
+  }
+
+  private void registerAll(Path root) throws IOException {
+    try (Stream<Path> dirs = Files.walk(root)) {
+      for (Path dir : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+        dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+      }
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.heron.patternlibrary.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Caches the source of the Thymeleaf templates shown in the "Template" tab, so
+ * that every template is read (and escaped) once, no matter how many examples
+ * or variants use it.
+ */
+@Component
+public class TemplateSourceCache extends ResourceCache<TemplateSourceCache.TemplateSource> {
+
+  public TemplateSourceCache(@Value("${patternlibrary.cache.templates.max-entries:1000}") int maxEntries) {
+    super(maxEntries);
+  }
+
+  @Override
+  protected TemplateSource create(String source, String contentHash) {
+    return new TemplateSource(source, HtmlUtils.htmlEscape(source), contentHash);
+  }
+
+  public static class TemplateSource {
+    private final String source;
+    private final String escapedHtml;
+    private final String contentHash;
+
+    public TemplateSource(String source, String escapedHtml, String contentHash) {
+      this.source = source;
+      this.escapedHtml = escapedHtml;
+      this.contentHash = contentHash;
+    }
+
+    public String getSource() {
+      return source;
+    }
+
+    public String getEscapedHtml() {
+      return escapedHtml;
+    }
+
+    public String getContentHash() {
+      return contentHash;
+    }
+  }
+}
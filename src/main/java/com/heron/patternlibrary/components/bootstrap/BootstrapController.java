@@ -1,6 +1,8 @@
 package com.heron.patternlibrary.components.bootstrap;
 
 import com.heron.patternlibrary.annotations.PatternLibraryComponents;
+import com.heron.patternlibrary.annotations.PerformanceBudget;
+import com.heron.patternlibrary.components.bootstrap.models.CursorPagination;
 import com.heron.patternlibrary.components.bootstrap.models.Pagination;
 
 import org.springframework.stereotype.Controller;
@@ -11,7 +13,8 @@ import org.springframework.web.servlet.ModelAndView;
 import java.util.Map;
 
 @Controller
-@PatternLibraryComponents(docs = "bootstrap.md", order = 1)
+@PatternLibraryComponents(docs = "bootstrap.md", order = 1, cacheable = true)
+@PerformanceBudget(renderMillis = 250, htmlBytes = 10_000, domNodes = 150)
 @RequestMapping("/bootstrap")
 public class BootstrapController {
 
@@ -44,4 +47,24 @@ public class BootstrapController {
   public ModelAndView pagination_lastPage() {
     return new ModelAndView("components/bootstrap/pagination/pagination", Map.of("pagination",Pagination.create(2, 4, 12, p -> "")));
   }
+
+  @GetMapping("/pagination--many-pages")
+  public ModelAndView pagination_manyPages() {
+    return new ModelAndView("components/bootstrap/pagination/pagination", Map.of("pagination",Pagination.windowed(41, 10, 1_000_000, 2, p -> "")));
+  }
+
+  @GetMapping("/pagination-cursor")
+  public ModelAndView paginationCursor() {
+    return new ModelAndView("components/bootstrap/pagination-cursor/pagination-cursor", Map.of("pagination", CursorPagination.create("b", "a", true, c -> "", c -> "")));
+  }
+
+  @GetMapping("/pagination-cursor--first-page")
+  public ModelAndView paginationCursor_firstPage() {
+    return new ModelAndView("components/bootstrap/pagination-cursor/pagination-cursor", Map.of("pagination", CursorPagination.create(null, "a", true, c -> "", c -> "")));
+  }
+
+  @GetMapping("/pagination-cursor--last-page")
+  public ModelAndView paginationCursor_lastPage() {
+    return new ModelAndView("components/bootstrap/pagination-cursor/pagination-cursor", Map.of("pagination", CursorPagination.create("b", "a", false, c -> "", c -> "")));
+  }
 }
@@ -0,0 +1,42 @@
+package com.heron.patternlibrary.components.bootstrap.models;
+
+import com.heron.patternlibrary.components.bootstrap.models.Pagination.Next;
+import com.heron.patternlibrary.components.bootstrap.models.Pagination.Previous;
+
+import java.util.function.Function;
+
+/**
+ * Pagination for keyset queries, which only know the cursors of the first and
+ * the last item of the current page and whether there are more items, but not
+ * the total number of items.
+ */
+public class CursorPagination {
+  private final Previous previous;
+  private final Next next;
+
+  private CursorPagination(Previous previous, Next next) {
+    this.previous = previous;
+    this.next = next;
+  }
+
+  public Previous getPrevious() {
+    return previous;
+  }
+
+  public Next getNext() {
+    return next;
+  }
+
+  /**
+   * @param beforeCursor the cursor of the first item of the current page, {@code null} on the first page
+   * @param afterCursor  the cursor of the last item of the current page
+   * @param hasMore      whether there are items after the current page
+   */
+  public static CursorPagination create(String beforeCursor, String afterCursor, boolean hasMore,
+                                        Function<String, String> beforeLinkCreator,
+                                        Function<String, String> afterLinkCreator) {
+    Previous previous = beforeCursor == null ? Previous.NONE : new Previous(beforeLinkCreator.apply(beforeCursor), false);
+    Next next = !hasMore || afterCursor == null ? Next.NONE : new Next(afterLinkCreator.apply(afterCursor), false);
+    return new CursorPagination(previous, next);
+  }
+}
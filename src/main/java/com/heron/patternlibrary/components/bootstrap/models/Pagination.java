@@ -1,8 +1,12 @@
 package com.heron.patternlibrary.components.bootstrap.models;
 
-import java.util.ArrayList;
+import org.springframework.util.Assert;
+
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 
 public class Pagination {
   private final Previous previous;
@@ -28,16 +32,32 @@ public class Pagination {
   }
 
   public static Pagination create(int currentIndex, int pageSize, int totalItems, Function<Integer, String> linkCreator) {
-    int numberPages = totalItems / pageSize;
-    if (totalItems % pageSize != 0) {
-      numberPages++;
-    }
+    int numberPages = (int) numberPages(pageSize, totalItems);
 
     return new Pagination(Previous.create(currentIndex, linkCreator),
         Next.create(currentIndex, numberPages, linkCreator),
         PageLink.createPages(currentIndex, numberPages, linkCreator));
   }
 
+  /**
+   * Creates a pagination which only links the first and the last page and the
+   * {@code neighbours} pages on either side of the current page. Skipped pages
+   * are replaced by an ellipsis, e.g. {@code 1 ... 4 5 [6] 7 8 ... 100}.
+   */
+  public static Pagination windowed(long currentIndex, long pageSize, long totalItems, int neighbours,
+                                    LongFunction<String> linkCreator) {
+    Assert.isTrue(neighbours >= 0, () -> "neighbours must not be negative, was " + neighbours);
+    long numberPages = numberPages(pageSize, totalItems);
+
+    return new Pagination(Previous.createLong(currentIndex, linkCreator),
+        Next.createLong(currentIndex, numberPages, linkCreator),
+        new PageWindow(currentIndex, numberPages, neighbours, linkCreator));
+  }
+
+  private static long numberPages(long pageSize, long totalItems) {
+    return totalItems / pageSize + (totalItems % pageSize == 0 ? 0 : 1);
+  }
+
   public static class Previous {
     public static final Previous NONE = new Previous(null, true);
 
@@ -58,7 +78,11 @@ public class Pagination {
     }
 
     public static Previous create(int currentIndex, Function<Integer, String> linkCreator) {
-      if (currentIndex == 0) {
+      return createLong(currentIndex, index -> linkCreator.apply((int) index));
+    }
+
+    public static Previous createLong(long currentIndex, LongFunction<String> linkCreator) {
+      if (currentIndex <= 0) {
         return NONE;
       }
       return new Previous(linkCreator.apply(currentIndex - 1), false);
@@ -85,8 +109,12 @@ public class Pagination {
     }
 
     public static Next create(int currentIndex, int numberPages, Function<Integer, String> linkCreator) {
-      int nextPage = currentIndex + 1;
-      if (nextPage == numberPages) {
+      return createLong(currentIndex, numberPages, index -> linkCreator.apply((int) index));
+    }
+
+    public static Next createLong(long currentIndex, long numberPages, LongFunction<String> linkCreator) {
+      long nextPage = currentIndex + 1;
+      if (nextPage >= numberPages) {
         return NONE;
       }
       return new Next(linkCreator.apply(nextPage), false);
@@ -94,14 +122,37 @@ public class Pagination {
   }
 
   public static class PageLink {
+    public static final PageLink ELLIPSIS = new PageLink(-1, null, false);
+
+    private final long index;
     private final String href;
     private final boolean current;
 
+    /**
+     * A link to a page whose index isn't known, so its number is 0.
+     */
     public PageLink(String href, boolean current) {
+      this(-1, href, current);
+    }
+
+    public PageLink(long index, String href, boolean current) {
+      this.index = index;
       this.href = href;
       this.current = current;
     }
 
+    public long getIndex() {
+      return index;
+    }
+
+    /**
+     * The number of the page as shown to the user, starting with 1 (or 0 if
+     * the index isn't known).
+     */
+    public long getNumber() {
+      return index + 1;
+    }
+
     public String getHref() {
       return href;
     }
@@ -110,14 +161,71 @@ public class Pagination {
       return current;
     }
 
+    public boolean isEllipsis() {
+      return index < 0 && href == null;
+    }
+
     public static List<PageLink> createPages(int currentIndex, int numberPages, Function<Integer, String> linkCreator) {
-      List<PageLink> links = new ArrayList<>();
+      return new PageWindow(currentIndex, numberPages, Integer.MAX_VALUE, index -> linkCreator.apply((int) index));
+    }
+  }
+
+  /**
+   * The visible page links, which are only created when they are accessed. A
+   * window always has the same number of slots (unless all pages fit), so the
+   * links don't jump around when paging through.
+   */
+  private static class PageWindow extends AbstractList<PageLink> implements RandomAccess {
+    private final long currentIndex;
+    private final long numberPages;
+    private final LongFunction<String> linkCreator;
+    private final int size;
+    private final boolean windowed;
+    private final long windowStart;
+    private final long windowEnd;
+
+    PageWindow(long currentIndex, long numberPages, int neighbours, LongFunction<String> linkCreator) {
+      this.currentIndex = currentIndex;
+      this.numberPages = numberPages;
+      this.linkCreator = linkCreator;
+
+      // first page, ellipsis, neighbours, current page, neighbours, ellipsis, last page
+      long slots = 2L * neighbours + 5;
+      this.windowed = numberPages > slots;
+      this.size = Math.toIntExact(windowed ? slots : numberPages);
+      this.windowStart = Math.max(Math.min(currentIndex - neighbours, numberPages - 2L * neighbours - 3), 2);
+      this.windowEnd = windowStart + 2L * neighbours;
+    }
 
-      for (int i = 0; i < numberPages; i++) {
-        links.add(new PageLink(linkCreator.apply(i), i == currentIndex));
+    @Override
+    public PageLink get(int slot) {
+      if (slot < 0 || slot >= size) {
+        throw new IndexOutOfBoundsException("slot=" + slot + ", size=" + size);
       }
 
-      return links;
+      if (!windowed) {
+        return page(slot);
+      }
+
+      if (slot == 0) {
+        return page(0);
+      } else if (slot == 1) {
+        return windowStart > 2 ? PageLink.ELLIPSIS : page(1);
+      } else if (slot == size - 2) {
+        return windowEnd < numberPages - 3 ? PageLink.ELLIPSIS : page(numberPages - 2);
+      } else if (slot == size - 1) {
+        return page(numberPages - 1);
+      }
+      return page(windowStart + slot - 2);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    private PageLink page(long index) {
+      return new PageLink(index, linkCreator.apply(index), index == currentIndex);
     }
   }
 }
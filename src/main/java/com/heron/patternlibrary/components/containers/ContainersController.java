@@ -1,6 +1,8 @@
 package com.heron.patternlibrary.components.containers;
 
+import com.heron.patternlibrary.annotations.CacheableExample;
 import com.heron.patternlibrary.annotations.PatternLibraryComponents;
+import com.heron.patternlibrary.annotations.PerformanceBudget;
 
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,9 +10,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 
 @Controller
 @PatternLibraryComponents(order = 2, docs = "containers.md")
+@PerformanceBudget(renderMillis = 250, htmlBytes = 10_000, domNodes = 150)
 @RequestMapping("/containers")
 public class ContainersController {
 
+  @CacheableExample
   @GetMapping("/flex-wrap")
   public String flexWrap() {
     return "components/containers/flex-wrap/example";
@@ -0,0 +1,70 @@
+package com.heron.patternlibrary.metrics;
+
+import com.heron.patternlibrary.cache.BoundedCache;
+import com.heron.patternlibrary.cache.CompressedPageCache;
+import com.heron.patternlibrary.cache.DocumentationCache;
+import com.heron.patternlibrary.cache.ExampleHtmlCache;
+import com.heron.patternlibrary.cache.TemplateSourceCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes the size, the hits and the misses of the pattern library caches.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+  @Autowired
+  private DocumentationCache documentation;
+
+  @Autowired
+  private TemplateSourceCache templateSources;
+
+  @Autowired
+  private CompressedPageCache compressedPages;
+
+  @Autowired
+  private ExampleHtmlCache examples;
+
+  public Map<String, BoundedCache<?, ?>> getCaches() {
+    Map<String, BoundedCache<?, ?>> caches = new LinkedHashMap<>();
+    caches.put("documentation", documentation.getCache());
+    caches.put("templates", templateSources.getCache());
+    caches.put("compressed-pages", compressedPages.getCache());
+    caches.put("examples", examples.getCache());
+    return caches;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    getCaches().forEach((name, cache) -> {
+      Gauge.builder("patternlibrary.cache.size", cache, BoundedCache::size)
+          .tag("cache", name)
+          .register(registry);
+      FunctionCounter.builder("patternlibrary.cache.gets", cache, BoundedCache::getHits)
+          .tag("cache", name)
+          .tag("result", "hit")
+          .register(registry);
+      FunctionCounter.builder("patternlibrary.cache.gets", cache, BoundedCache::getMisses)
+          .tag("cache", name)
+          .tag("result", "miss")
+          .register(registry);
+      Gauge.builder("patternlibrary.cache.hit.ratio", cache, CacheMetrics::hitRatio)
+          .tag("cache", name)
+          .register(registry);
+    });
+  }
+
+  public static double hitRatio(BoundedCache<?, ?> cache) {
+    long total = cache.getHits() + cache.getMisses();
+    return total == 0 ? 0 : (double) cache.getHits() / total;
+  }
+}
@@ -0,0 +1,49 @@
+package com.heron.patternlibrary.metrics;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryRegistry;
+import com.heron.patternlibrary.metrics.ExampleRenderMetrics.LastRender;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The last render of every example of an entry by URI, which the details page
+ * fetches to show the measurements next to the budgets. The measurements
+ * change with every render, so they can't be part of the details page, which
+ * is answered and cached by its fingerprint.
+ */
+@RestController
+public class ExampleMeasurementsController {
+
+  public static final String PATH = "/pattern-library/measurements";
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  @Autowired
+  private ExampleRenderMetrics metrics;
+
+  @GetMapping(PATH)
+  public ResponseEntity<Map<String, LastRender>> measurements(@RequestParam String uri) {
+    Optional<PatternLibraryEntry> entry = registry.getSnapshot().findEntry(uri);
+    if (!entry.isPresent()) {
+      return ResponseEntity.notFound().build();
+    }
+
+    Map<String, LastRender> renders = new LinkedHashMap<>();
+    Stream.concat(Stream.of(entry.get().getMainExample()), entry.get().getExamples().stream())
+        .forEach(example -> metrics.getLastRender(example.getUri())
+            .ifPresent(render -> renders.put(example.getUri(), render)));
+    return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(renders);
+  }
+}
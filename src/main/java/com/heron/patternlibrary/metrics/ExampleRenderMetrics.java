@@ -0,0 +1,97 @@
+package com.heron.patternlibrary.metrics;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.PatternLibraryRegistry;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long the examples take to render, how large they are and how
+ * many elements they have, both
+ * as meters tagged with the group and the URI of the example and as the last
+ * render of every example for the {@link PatternLibraryEndpoint}.
+ *
+ * The URI tag is the mapping of a registered example, renders of any other
+ * path are dropped, so the number of meters is bounded by the number of
+ * examples.
+ */
+@Component
+public class ExampleRenderMetrics {
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  private final Map<String, LastRender> lastRenders = new ConcurrentHashMap<>();
+
+  public boolean isExample(String uri) {
+    return registry.getSnapshot().findGroupByExample(uri).isPresent();
+  }
+
+  public void record(String uri, long durationNanos, long bytes, long domNodes) {
+    Optional<PatternLibraryGroup> group = registry.getSnapshot().findGroupByExample(uri);
+    if (!group.isPresent()) {
+      return;
+    }
+
+    String groupName = group.get().getName();
+    Timer.builder("patternlibrary.example.render")
+        .tag("group", groupName)
+        .tag("uri", uri)
+        .register(meterRegistry)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+    DistributionSummary.builder("patternlibrary.example.size")
+        .baseUnit("bytes")
+        .tag("group", groupName)
+        .tag("uri", uri)
+        .register(meterRegistry)
+        .record(bytes);
+
+    DistributionSummary.builder("patternlibrary.example.dom.nodes")
+        .tag("group", groupName)
+        .tag("uri", uri)
+        .register(meterRegistry)
+        .record(domNodes);
+
+    lastRenders.put(uri, new LastRender(TimeUnit.NANOSECONDS.toMillis(durationNanos), bytes, domNodes));
+  }
+
+  public Optional<LastRender> getLastRender(String uri) {
+    return Optional.ofNullable(lastRenders.get(uri));
+  }
+
+  public static class LastRender {
+    private final long latencyMillis;
+    private final long payloadBytes;
+    private final long domNodes;
+
+    public LastRender(long latencyMillis, long payloadBytes, long domNodes) {
+      this.latencyMillis = latencyMillis;
+      this.payloadBytes = payloadBytes;
+      this.domNodes = domNodes;
+    }
+
+    public long getLatencyMillis() {
+      return latencyMillis;
+    }
+
+    public long getPayloadBytes() {
+      return payloadBytes;
+    }
+
+    public long getDomNodes() {
+      return domNodes;
+    }
+  }
+}
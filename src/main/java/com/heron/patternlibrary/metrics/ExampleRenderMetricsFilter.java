@@ -0,0 +1,131 @@
+package com.heron.patternlibrary.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Measures the render time, the payload size and the number of elements of
+ * the example pages.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ExampleRenderMetricsFilter extends OncePerRequestFilter {
+
+  private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+  @Autowired
+  private ExampleRenderMetrics metrics;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !metrics.isExample(URL_PATH_HELPER.getPathWithinApplication(request));
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    long start = System.nanoTime();
+    CountingResponse counting = new CountingResponse(response);
+    try {
+      chain.doFilter(request, counting);
+    } finally {
+      counting.flush();
+    }
+
+    // e.g. a 304, which didn't render anything
+    if (counting.getStatus() == HttpServletResponse.SC_OK) {
+      // The mapping of the handler, unless the example has been answered from the cache before it was mapped
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      metrics.record(pattern instanceof String ? (String) pattern : URL_PATH_HELPER.getPathWithinApplication(request),
+          System.nanoTime() - start, counting.count, counting.elements.getCount());
+    }
+  }
+
+  private static class CountingResponse extends HttpServletResponseWrapper {
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private long count;
+    private final HtmlElementCounter elements = new HtmlElementCounter();
+
+    CountingResponse(HttpServletResponse response) {
+      super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (outputStream == null) {
+        ServletOutputStream delegate = super.getOutputStream();
+        outputStream = new ServletOutputStream() {
+          @Override
+          public boolean isReady() {
+            return delegate.isReady();
+          }
+
+          @Override
+          public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+          }
+
+          @Override
+          public void write(int b) throws IOException {
+            delegate.write(b);
+            elements.update(b);
+            count++;
+          }
+
+          @Override
+          public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            elements.update(b, off, len);
+            count += len;
+          }
+
+          @Override
+          public void flush() throws IOException {
+            delegate.flush();
+          }
+        };
+      }
+      return outputStream;
+    }
+
+    // Encodes the characters here (instead of in the container) to count the bytes
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      if (writer == null) {
+        writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+      }
+      return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      flush();
+      super.flushBuffer();
+    }
+
+    void flush() {
+      if (writer != null) {
+        writer.flush();
+      }
+    }
+  }
+}
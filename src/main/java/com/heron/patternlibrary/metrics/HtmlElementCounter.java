@@ -0,0 +1,37 @@
+package com.heron.patternlibrary.metrics;
+
+/**
+ * Counts the elements of an HTML document while it is written, by counting
+ * its start tags. Start tags within scripts or comments are counted as well,
+ * which is close enough to compare the DOM size against a budget.
+ */
+public class HtmlElementCounter {
+
+  private boolean afterLessThan;
+  private long count;
+
+  public void update(int b) {
+    if (afterLessThan && (b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z')) {
+      count++;
+    }
+    afterLessThan = b == '<';
+  }
+
+  public void update(byte[] b, int off, int len) {
+    for (int i = off; i < off + len; i++) {
+      update(b[i]);
+    }
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public static long count(String html) {
+    HtmlElementCounter counter = new HtmlElementCounter();
+    for (int i = 0; i < html.length(); i++) {
+      counter.update(html.charAt(i));
+    }
+    return counter.getCount();
+  }
+}
@@ -0,0 +1,121 @@
+package com.heron.patternlibrary.metrics;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.PatternLibraryRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Lists every group, entry and example of the pattern library with the
+ * latency and the payload size of its last render, to find the slow
+ * components, together with the state of the caches.
+ */
+@Component
+@Endpoint(id = "patternlibrary")
+public class PatternLibraryEndpoint {
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  @Autowired
+  private ExampleRenderMetrics exampleRenderMetrics;
+
+  @Autowired
+  private CacheMetrics cacheMetrics;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @ReadOperation
+  public Map<String, Object> patternLibrary() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("registry", registry());
+    result.put("caches", caches());
+    result.put("groups", registry.getSnapshot()
+        .getGroups()
+        .stream()
+        .map(this::group)
+        .collect(Collectors.toList()));
+    return result;
+  }
+
+  private Map<String, Object> registry() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    Timer build = meterRegistry.find("patternlibrary.registry.build").timer();
+    if (build != null) {
+      result.put("builds", build.count());
+      result.put("maxBuildMillis", build.max(TimeUnit.MILLISECONDS));
+    }
+    result.put("pages", registry.getSnapshot().getPages().size());
+    return result;
+  }
+
+  private Map<String, Object> caches() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    cacheMetrics.getCaches().forEach((name, cache) -> {
+      Map<String, Object> stats = new LinkedHashMap<>();
+      stats.put("size", cache.size());
+      stats.put("maxEntries", cache.getMaxEntries());
+      if (cache.getMaxWeight() < Long.MAX_VALUE) {
+        stats.put("weight", cache.getWeight());
+        stats.put("maxWeight", cache.getMaxWeight());
+      }
+      stats.put("hits", cache.getHits());
+      stats.put("misses", cache.getMisses());
+      stats.put("hitRatio", CacheMetrics.hitRatio(cache));
+      result.put(name, stats);
+    });
+    return result;
+  }
+
+  private Map<String, Object> group(PatternLibraryGroup group) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("name", group.getName());
+    result.put("entries", group.getEntries()
+        .stream()
+        .map(this::entry)
+        .collect(Collectors.toList()));
+    return result;
+  }
+
+  private Map<String, Object> entry(PatternLibraryEntry entry) {
+    List<Map<String, Object>> examples = Stream.concat(Stream.of(entry.getMainExample()), entry.getExamples().stream())
+        .map(this::example)
+        .collect(Collectors.toList());
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("name", entry.getMainExample().getName());
+    result.put("uri", entry.getMainExample().getUri());
+    result.put("examples", examples);
+    return result;
+  }
+
+  private Map<String, Object> example(PatternLibraryExample example) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("name", example.getName());
+    result.put("uri", example.getUri());
+    if (example.getBudget().isDefined()) {
+      result.put("budget", example.getBudget());
+    }
+    exampleRenderMetrics.getLastRender(example.getUri()).ifPresent(render -> {
+      result.put("lastRenderMillis", render.getLatencyMillis());
+      result.put("lastPayloadBytes", render.getPayloadBytes());
+      result.put("lastDomNodes", render.getDomNodes());
+    });
+    return result;
+  }
+}
@@ -0,0 +1,67 @@
+package com.heron.patternlibrary.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.HandlerResultHandler;
+import org.springframework.web.reactive.result.view.Rendering;
+import org.springframework.web.reactive.result.view.ViewResolutionResultHandler;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.servlet.ModelAndView;
+import reactor.core.publisher.Mono;
+
+/**
+ * Renders the Spring MVC {@link ModelAndView}s returned by the component
+ * controllers in the reactive mode, so that they keep working unchanged.
+ * WebFlux would take such a return value for a model attribute of the
+ * default view, so it is turned into a {@link Rendering} of its view and model
+ * and handed to the {@link ViewResolutionResultHandler}.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ModelAndViewResultHandler implements HandlerResultHandler, Ordered {
+
+  private static final MethodParameter RENDERING = new MethodParameter(
+      ReflectionUtils.findMethod(ModelAndViewResultHandler.class, "toRendering", ModelAndView.class), -1);
+
+  @Autowired
+  private ViewResolutionResultHandler viewResolution;
+
+  @Override
+  public boolean supports(HandlerResult result) {
+    Class<?> type = result.getReturnType().toClass();
+    return ModelAndView.class.isAssignableFrom(type);
+  }
+
+  @Override
+  public Mono<Void> handleResult(ServerWebExchange exchange, HandlerResult result) {
+    Rendering rendering = toRendering((ModelAndView) result.getReturnValue());
+    return viewResolution.handleResult(exchange,
+        new HandlerResult(result.getHandler(), rendering, RENDERING, result.getBindingContext()));
+  }
+
+  static Rendering toRendering(ModelAndView modelAndView) {
+    // A View instance is a Spring MVC view, which can't render a reactive response
+    if (!modelAndView.isReference()) {
+      throw new IllegalStateException("Only a ModelAndView with a view name can be rendered reactively, was "
+          + modelAndView);
+    }
+
+    Rendering.Builder<?> rendering = Rendering.view(modelAndView.getViewName()).model(modelAndView.getModel());
+    if (modelAndView.getStatus() != null) {
+      rendering.status(modelAndView.getStatus());
+    }
+    return rendering.build();
+  }
+
+  // Before the ViewResolutionResultHandler, which would take the ModelAndView for a model attribute
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+}
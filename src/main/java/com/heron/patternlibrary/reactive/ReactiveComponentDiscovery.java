@@ -0,0 +1,118 @@
+package com.heron.patternlibrary.reactive;
+
+import com.heron.patternlibrary.ComponentDiscovery;
+import com.heron.patternlibrary.PatternLibraryController;
+import com.heron.patternlibrary.PatternLibraryIndex;
+import com.heron.patternlibrary.PatternLibraryIndex.IndexedExample;
+import com.heron.patternlibrary.PatternLibraryIndex.IndexedGroup;
+import com.heron.patternlibrary.RenderBudget;
+import com.heron.patternlibrary.annotations.CacheableExample;
+import com.heron.patternlibrary.annotations.PatternLibraryComponents;
+import com.heron.patternlibrary.annotations.PerformanceBudget;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.RequestMappingInfo;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Discovers the {@link PatternLibraryComponents} controllers of the reactive
+ * mode from the handler methods WebFlux has mapped, so the pattern library
+ * lists exactly the examples which are served.
+ *
+ * The view of an example can only be read from the method body at compile
+ * time, so an example which is in the {@link PatternLibraryIndex} is taken
+ * from there. Others (e.g. of a JAR built without the annotation processor)
+ * are derived from the annotations like the processor does, without a
+ * template.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveComponentDiscovery implements ComponentDiscovery {
+
+  // Not the handler mapping of the actuator's @ControllerEndpoints
+  @Autowired
+  @Qualifier("requestMappingHandlerMapping")
+  private RequestMappingHandlerMapping handlerMapping;
+
+  @Override
+  public PatternLibraryIndex discover() {
+    return discover(handlerMapping.getHandlerMethods(), PatternLibraryIndex.load(getClass().getClassLoader()));
+  }
+
+  static PatternLibraryIndex discover(Map<RequestMappingInfo, HandlerMethod> handlerMethods,
+                                      PatternLibraryIndex index) {
+    Map<String, IndexedExample> indexed = index.getGroups()
+        .stream()
+        .flatMap(group -> group.getExamples().stream())
+        .collect(Collectors.toMap(IndexedExample::getUri, example -> example, (first, second) -> first));
+
+    Map<Class<?>, List<IndexedExample>> examples = new LinkedHashMap<>();
+    handlerMethods.forEach((info, method) -> {
+      Class<?> controller = ClassUtils.getUserClass(method.getBeanType());
+      if (!controller.isAnnotationPresent(PatternLibraryComponents.class) || !isGet(info)
+          || info.getPatternsCondition().getPatterns().isEmpty()) {
+        return;
+      }
+
+      // Like the annotation processor, only the first path of a mapping is an example
+      String uri = info.getPatternsCondition().getPatterns().iterator().next().getPatternString();
+      examples.computeIfAbsent(controller, key -> new ArrayList<>())
+          .add(Optional.ofNullable(indexed.get(uri)).orElseGet(() -> createExample(controller, method, uri)));
+    });
+
+    return PatternLibraryIndex.of(examples.entrySet()
+        .stream()
+        .map(e -> createGroup(e.getKey(), e.getValue()))
+        .collect(Collectors.toList()));
+  }
+
+  private static boolean isGet(RequestMappingInfo info) {
+    Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+    return methods.isEmpty() || methods.contains(RequestMethod.GET);
+  }
+
+  private static IndexedGroup createGroup(Class<?> controller, List<IndexedExample> examples) {
+    PatternLibraryComponents components = controller.getAnnotation(PatternLibraryComponents.class);
+    // Remove "Controller" from class name to get name for category
+    return new IndexedGroup(controller.getName(), controller.getSimpleName().replaceAll("Controller", ""),
+        components.docs(), components.order(), examples);
+  }
+
+  private static IndexedExample createExample(Class<?> controller, HandlerMethod method, String uri) {
+    String[] parts = uri.split("--", 2);
+    PerformanceBudget methodBudget = method.getMethodAnnotation(PerformanceBudget.class);
+    PerformanceBudget controllerBudget = AnnotationUtils.findAnnotation(controller, PerformanceBudget.class);
+    RenderBudget budget = new RenderBudget(
+        limit(methodBudget, controllerBudget, PerformanceBudget::renderMillis),
+        limit(methodBudget, controllerBudget, PerformanceBudget::htmlBytes),
+        limit(methodBudget, controllerBudget, PerformanceBudget::domNodes));
+    CacheableExample cacheable = method.getMethodAnnotation(CacheableExample.class);
+    return new IndexedExample(uri, parts.length > 1 ? parts[1] : "",
+        PatternLibraryController.extractNameFromMethod(method.getMethod().getName()), "", budget,
+        cacheable != null ? cacheable.value() : controller.getAnnotation(PatternLibraryComponents.class).cacheable());
+  }
+
+  // A limit of 0 isn't set, so the limit of the controller applies
+  private static long limit(PerformanceBudget methodBudget, PerformanceBudget controllerBudget,
+                            ToLongFunction<PerformanceBudget> limit) {
+    return Optional.ofNullable(methodBudget).map(limit::applyAsLong).filter(value -> value > 0)
+        .orElseGet(() -> Optional.ofNullable(controllerBudget).map(limit::applyAsLong).orElse(0L));
+  }
+}
@@ -0,0 +1,146 @@
+package com.heron.patternlibrary.reactive;
+
+import com.heron.patternlibrary.PatternLibraryController;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryNavigation;
+import com.heron.patternlibrary.PatternLibraryRegistry;
+import com.heron.patternlibrary.cache.DocumentationCache;
+import com.heron.patternlibrary.cache.TemplateSourceCache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.reactive.result.view.Rendering;
+import org.springframework.web.server.ResponseStatusException;
+import org.thymeleaf.spring5.context.webflux.ReactiveDataDriverContextVariable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The pages of the pattern library in the reactive mode. The docs and
+ * templates of a page are read without blocking (see
+ * {@link ReactiveResourceReader}) before the view reads them from the caches.
+ *
+ * The variants of a details page are a data driver of {@code details.html},
+ * so Thymeleaf sends every variant to the client as soon as its template has
+ * been read, instead of rendering the whole page at once. The examples are
+ * always shown in iframes, as only Spring MVC can include them into the page.
+ */
+@Controller
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactivePatternLibraryController {
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  @Autowired
+  private DocumentationCache documentation;
+
+  @Autowired
+  private TemplateSourceCache templateSources;
+
+  @Autowired
+  private ReactiveResourceReader reader;
+
+  @Autowired
+  private PatternLibraryNavigation navigation;
+
+  @Value("${patternlibrary.app.name:Pattern Library}")
+  private String appName;
+
+  private volatile BaseModel baseModel;
+
+  @GetMapping("/")
+  public Mono<Rendering> index(@RequestParam(required = false) String uri, ServerHttpRequest request) {
+    Optional<PatternLibraryEntry> entry = registry.getSnapshot().findEntry(uri);
+    if (entry.isPresent()) {
+      return details(entry.get(), request);
+    }
+    return renderDocs(appName, PatternLibraryController.INTRO_DOC_PATH, request);
+  }
+
+  @GetMapping("/docs")
+  public Mono<Rendering> docs(@RequestParam(required = false, defaultValue = "Pattern Library") String title,
+                              @RequestParam String docPath, ServerHttpRequest request) {
+    // Only known docs are looked up, so random paths never reach the resource loader (nor the cache)
+    if (!registry.getSnapshot().isDocument(docPath)) {
+      return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+    return renderDocs(title, docPath, request);
+  }
+
+  private Mono<Rendering> renderDocs(String title, String docPath, ServerHttpRequest request) {
+    return reader.read(documentation, docPath)
+        .then(Mono.fromSupplier(() -> Rendering.view("pattern-library/docs")
+            .model(model(request))
+            .modelAttribute("title", title)
+            .modelAttribute("documentation", documentation.getHtml(docPath))
+            .build()));
+  }
+
+  private Mono<Rendering> details(PatternLibraryEntry entry, ServerHttpRequest request) {
+    // Finding the README lists the directory of the component, once
+    Mono<Void> readme = Mono.fromCallable(entry::getDocumentationPath)
+        .subscribeOn(Schedulers.boundedElastic())
+        .flatMap(docPath -> docPath.map(p -> reader.read(documentation, p)).orElse(Mono.empty()));
+    Flux<PatternLibraryExample> examples = Flux.fromIterable(entry.getExamples())
+        .flatMapSequential(example -> readTemplate(example).thenReturn(example));
+
+    return readme
+        .and(readTemplate(entry.getMainExample()))
+        .then(Mono.fromSupplier(() -> Rendering.view("pattern-library/details")
+            .model(model(request))
+            .modelAttribute("entry", entry)
+            // Flushes the page after every variant
+            .modelAttribute("examples", new ReactiveDataDriverContextVariable(examples, 1))
+            .build()));
+  }
+
+  private Mono<Void> readTemplate(PatternLibraryExample example) {
+    return example.getTemplatePath().map(path -> reader.read(templateSources, path)).orElse(Mono.empty());
+  }
+
+  /**
+   * The (unmodifiable) model shared by all pages, like
+   * {@link PatternLibraryController#model()}.
+   */
+  private Map<String, Object> model(ServerHttpRequest request) {
+    PatternLibraryRegistry.Snapshot snapshot = registry.getSnapshot();
+    String basePath = request.getPath().contextPath().value();
+    BaseModel current = baseModel;
+    if (current == null || current.snapshot != snapshot || !current.basePath.equals(basePath)) {
+      Map<String, Object> model = new HashMap<>();
+      model.put("appName", appName);
+      model.put("groups", snapshot.getGroups());
+      model.put("navigation", navigation.render(snapshot, appName, basePath));
+      current = new BaseModel(snapshot, basePath, Collections.unmodifiableMap(model));
+      baseModel = current;
+    }
+    return current.model;
+  }
+
+  private static class BaseModel {
+    private final PatternLibraryRegistry.Snapshot snapshot;
+    private final String basePath;
+    private final Map<String, Object> model;
+
+    BaseModel(PatternLibraryRegistry.Snapshot snapshot, String basePath, Map<String, Object> model) {
+      this.snapshot = snapshot;
+      this.basePath = basePath;
+      this.model = model;
+    }
+  }
+}
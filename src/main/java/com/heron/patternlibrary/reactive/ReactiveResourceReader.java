@@ -0,0 +1,85 @@
+package com.heron.patternlibrary.reactive;
+
+import com.heron.patternlibrary.cache.ResourceCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads the docs and templates of the reactive mode without blocking an event
+ * loop thread and puts them into their {@link ResourceCache}, so that the
+ * views find them there. Files are read with an
+ * {@link java.nio.channels.AsynchronousFileChannel}, resources inside of a JAR
+ * (which can only be read by a blocking stream) on the bounded elastic
+ * scheduler.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveResourceReader {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveResourceReader.class);
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+  private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Reads the resource into the cache, unless it has been read already.
+   */
+  public Mono<Void> read(ResourceCache<?> cache, String resourcePath) {
+    if (cache.isCached(resourcePath)) {
+      return Mono.empty();
+    }
+
+    Resource resource = resourceLoader.getResource(resourcePath);
+    Mono<Optional<String>> content = Mono.defer(() -> {
+      Timer.Sample sample = Timer.start(meterRegistry);
+      return DataBufferUtils.join(DataBufferUtils.read(resource, bufferFactory, BUFFER_SIZE))
+          .map(ReactiveResourceReader::decode)
+          .map(Optional::of)
+          // An empty file has no buffer at all
+          .defaultIfEmpty(Optional.of(""))
+          .onErrorResume(e -> {
+            LOGGER.info("Could not extract resource={}", resource.getDescription());
+            return Mono.just(Optional.empty());
+          })
+          .doOnNext(c -> sample.stop(meterRegistry.timer("patternlibrary.resource.read", "outcome",
+              c.isPresent() ? "found" : "missing")));
+    });
+    // DataBufferUtils reads a file with an asynchronous channel, anything else with the (blocking) input stream
+    return (resource.isFile() ? content : content.subscribeOn(Schedulers.boundedElastic()))
+        .doOnNext(c -> cache.put(resourcePath, c))
+        .then();
+  }
+
+  private static String decode(DataBuffer buffer) {
+    try {
+      return buffer.toString(UTF_8);
+    } finally {
+      DataBufferUtils.release(buffer);
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package com.heron.patternlibrary.search;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.PatternLibraryPages;
+import com.heron.patternlibrary.PatternLibraryRegistry;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+import com.heron.patternlibrary.RegistryRefreshedEvent;
+import com.heron.patternlibrary.search.SearchIndex.Field;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Indexes the groups (names and docs) and components (names, variant names,
+ * README and template sources) of the registry for the search once the
+ * application is ready.
+ *
+ * When the registry has been refreshed after a file changed, only the
+ * documents of the changed groups are updated: a document is only indexed
+ * again if the signature of its contents changed, new components are added and
+ * the documents of components which no longer exist are removed.
+ */
+@Component
+public class PatternLibrarySearch {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PatternLibrarySearch.class);
+
+  private static final double NAME_WEIGHT = 5;
+  private static final double GROUP_WEIGHT = 2;
+  private static final double DOCUMENTATION_WEIGHT = 1;
+  private static final double TEMPLATE_WEIGHT = 0.5;
+
+  @Autowired
+  private PatternLibraryRegistry registry;
+
+  private final SearchIndex index = new SearchIndex();
+
+  // The signature of the contents of every indexed document by id
+  private final Map<String, String> signatures = new HashMap<>();
+
+  // The snapshot the index is up to date with
+  private volatile Snapshot indexed;
+
+  public List<SearchResult> search(String query, int limit) {
+    // e.g. a query arriving before the application is ready
+    Snapshot snapshot = registry.getSnapshot();
+    if (snapshot != indexed) {
+      update(snapshot, group -> true);
+    }
+    return index.search(query, limit);
+  }
+
+  // Runs after the registry has been built
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.LOWEST_PRECEDENCE)
+  public void indexAll() {
+    update(registry.getSnapshot(), group -> true);
+    LOGGER.info("Indexed {} pattern library documents for the search", index.size());
+  }
+
+  @EventListener
+  public void onRegistryRefreshed(RegistryRefreshedEvent event) {
+    update(event.getSnapshot(), event.isFull() ? group -> true : event.getChangedGroups()::contains);
+  }
+
+  private synchronized void update(Snapshot snapshot, Predicate<String> changedGroups) {
+    if (snapshot == indexed) {
+      return;
+    }
+
+    Set<String> ids = new HashSet<>();
+    List<String> updated = new ArrayList<>();
+    for (PatternLibraryGroup group : snapshot.getGroups()) {
+      if (!changedGroups.test(group.getName())) {
+        continue;
+      }
+      update(ids, updated, groupDocument(group), groupFields(group));
+      for (PatternLibraryEntry entry : group.getEntries()) {
+        update(ids, updated, componentDocument(group, entry), componentFields(group, entry));
+      }
+    }
+
+    // The documents of the other groups are still up to date
+    Set<String> removed = signatures.keySet()
+        .stream()
+        .filter(id -> !ids.contains(id))
+        .filter(id -> index.getDocument(id).map(SearchDocument::getGroup).filter(changedGroups).isPresent())
+        .collect(Collectors.toSet());
+    removed.forEach(id -> {
+      signatures.remove(id);
+      index.remove(id);
+    });
+
+    indexed = snapshot;
+    LOGGER.debug("Indexed documents={} again, removed documents={}", updated, removed);
+  }
+
+  private void update(Set<String> ids, List<String> updated, SearchDocument document, List<Field> fields) {
+    ids.add(document.getId());
+    String signature = signature(document, fields);
+    if (!signature.equals(signatures.put(document.getId(), signature))) {
+      index.update(document, fields);
+      updated.add(document.getId());
+    }
+  }
+
+  private static String signature(SearchDocument document, List<Field> fields) {
+    return DigestUtils.md5DigestAsHex(Stream.concat(
+        Stream.of(document.getKind().name(), document.getTitle(), document.getGroup(), String.valueOf(document.getUrl())),
+        fields.stream().map(field -> field.getWeight() + " " + field.getText()))
+        .collect(Collectors.joining("\n"))
+        .getBytes(UTF_8));
+  }
+
+  private static SearchDocument groupDocument(PatternLibraryGroup group) {
+    return new SearchDocument("group:" + group.getName(), SearchDocument.Kind.GROUP, group.getName(), group.getName(),
+        group.getDocPath().map(docPath -> PatternLibraryPages.docsUrl(group.getName(), docPath)).orElse(null));
+  }
+
+  private static List<Field> groupFields(PatternLibraryGroup group) {
+    return Stream.of(new Field(group.getName(), NAME_WEIGHT),
+        new Field(group.getDocumentation().orElse(""), DOCUMENTATION_WEIGHT))
+        .collect(Collectors.toList());
+  }
+
+  private static SearchDocument componentDocument(PatternLibraryGroup group, PatternLibraryEntry entry) {
+    return new SearchDocument("component:" + entry.getMainExample().getUri(), SearchDocument.Kind.COMPONENT,
+        entry.getMainExample().getName(), group.getName(), "/?uri=" + entry.getMainExample().getUri());
+  }
+
+  private static List<Field> componentFields(PatternLibraryGroup group, PatternLibraryEntry entry) {
+    List<Field> fields = new ArrayList<>();
+    fields.add(new Field(group.getName(), GROUP_WEIGHT));
+    fields.add(new Field(entry.getDocumentation().orElse(""), DOCUMENTATION_WEIGHT));
+    examples(entry).forEach(example -> {
+      fields.add(new Field(example.getName(), NAME_WEIGHT));
+      fields.add(new Field(example.getTemplate().orElse(""), TEMPLATE_WEIGHT));
+    });
+    return fields;
+  }
+
+  private static Stream<PatternLibraryExample> examples(PatternLibraryEntry entry) {
+    return Stream.concat(Stream.of(entry.getMainExample()), entry.getExamples().stream());
+  }
+}
@@ -0,0 +1,20 @@
+package com.heron.patternlibrary.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class SearchController {
+
+  @Autowired
+  private PatternLibrarySearch search;
+
+  @GetMapping("/search")
+  public List<SearchResult> search(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+    return search.search(q, Math.min(Math.max(limit, 1), 100));
+  }
+}
@@ -0,0 +1,42 @@
+package com.heron.patternlibrary.search;
+
+public class SearchDocument {
+
+  public enum Kind {
+    GROUP, COMPONENT
+  }
+
+  private final String id;
+  private final Kind kind;
+  private final String title;
+  private final String group;
+  private final String url;
+
+  public SearchDocument(String id, Kind kind, String title, String group, String url) {
+    this.id = id;
+    this.kind = kind;
+    this.title = title;
+    this.group = group;
+    this.url = url;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getGroup() {
+    return group;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+}
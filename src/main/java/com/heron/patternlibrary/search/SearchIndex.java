@@ -0,0 +1,183 @@
+package com.heron.patternlibrary.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * An in-memory inverted index. Every document can be added, replaced or
+ * removed on its own, so changes never require rebuilding the whole index.
+ *
+ * Queries match every term of the query as a prefix of the indexed terms and
+ * rank the documents by the weights of the fields the terms were found in.
+ */
+public class SearchIndex {
+
+  private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern TAG = Pattern.compile("<[^>]*>");
+
+  // A prefix match counts less than the exact term
+  private static final double PREFIX_FACTOR = 0.5;
+
+  private final NavigableMap<String, Map<String, Double>> postings = new TreeMap<>();
+  private final Map<String, SearchDocument> documents = new HashMap<>();
+  private final Map<String, Map<String, Double>> termsByDocument = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Adds the document or replaces it, if a document with the same id has been indexed before.
+   */
+  public void update(SearchDocument document, List<Field> fields) {
+    Map<String, Double> terms = new HashMap<>();
+    for (Field field : fields) {
+      for (String term : tokenize(field.text)) {
+        terms.merge(term, field.weight, Double::sum);
+      }
+    }
+
+    lock.writeLock().lock();
+    try {
+      removeInternal(document.getId());
+      documents.put(document.getId(), document);
+      termsByDocument.put(document.getId(), terms);
+      terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.getId(), weight));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(String id) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(id);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public Optional<SearchDocument> getDocument(String id) {
+    lock.readLock().lock();
+    try {
+      return Optional.ofNullable(documents.get(id));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public List<SearchResult> search(String query, int limit) {
+    List<String> queryTerms = tokenize(query);
+    if (queryTerms.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    lock.readLock().lock();
+    try {
+      Map<String, Double> scores = null;
+      for (String queryTerm : queryTerms) {
+        Map<String, Double> termScores = score(queryTerm);
+        if (scores == null) {
+          scores = termScores;
+        } else {
+          // Every term of the query has to match
+          Map<String, Double> previous = scores;
+          scores = termScores.entrySet()
+              .stream()
+              .filter(e -> previous.containsKey(e.getKey()))
+              .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue() + previous.get(e.getKey())));
+        }
+      }
+
+      return scores.entrySet()
+          .stream()
+          .map(e -> new SearchResult(documents.get(e.getKey()), e.getValue()))
+          .sorted(Comparator.comparingDouble(SearchResult::getScore).reversed()
+              .thenComparing(result -> result.getDocument().getTitle()))
+          .limit(limit)
+          .collect(Collectors.toList());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // The best score of every document for all indexed terms starting with the query term
+  private Map<String, Double> score(String queryTerm) {
+    Map<String, Double> scores = new HashMap<>();
+    for (Map.Entry<String, Map<String, Double>> posting
+        : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+      double factor = posting.getKey().equals(queryTerm) ? 1 : PREFIX_FACTOR;
+      posting.getValue().forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+    }
+    return scores;
+  }
+
+  private void removeInternal(String id) {
+    documents.remove(id);
+    Map<String, Double> terms = termsByDocument.remove(id);
+    if (terms == null) {
+      return;
+    }
+
+    for (String term : terms.keySet()) {
+      Map<String, Double> posting = postings.get(term);
+      posting.remove(id);
+      if (posting.isEmpty()) {
+        postings.remove(term);
+      }
+    }
+  }
+
+  static List<String> tokenize(String text) {
+    List<String> terms = new ArrayList<>();
+    if (text == null) {
+      return terms;
+    }
+
+    for (String term : NON_WORD.split(TAG.matcher(text).replaceAll(" ").toLowerCase(Locale.ROOT))) {
+      if (term.length() > 1) {
+        terms.add(term);
+      }
+    }
+    return terms;
+  }
+
+  /**
+   * A part of a document with the weight of the terms found in it.
+   */
+  public static class Field {
+    private final String text;
+    private final double weight;
+
+    public Field(String text, double weight) {
+      this.text = text;
+      this.weight = weight;
+    }
+
+    public String getText() {
+      return text;
+    }
+
+    public double getWeight() {
+      return weight;
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.heron.patternlibrary.search;
+
+public class SearchResult {
+
+  private final SearchDocument document;
+  private final double score;
+
+  public SearchResult(SearchDocument document, double score) {
+    this.document = document;
+    this.score = score;
+  }
+
+  public SearchDocument getDocument() {
+    return document;
+  }
+
+  public double getScore() {
+    return score;
+  }
+}
@@ -0,0 +1,60 @@
+package com.heron.patternlibrary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComponentAssetsTest {
+
+  @Test
+  void of_listsTheFilesOfTheTemplateDirectory() {
+    Optional<ComponentAssets> assets = ComponentAssets.of("classpath:/templates/components/bootstrap/pagination/pagination.html");
+
+    assertThat(assets).hasValueSatisfying(a -> {
+      assertThat(a.getFiles()).contains("README.md", "pagination.html", "template.html");
+      assertThat(a.getReadmePath()).contains("classpath:/templates/components/bootstrap/pagination/README.md");
+    });
+  }
+
+  @Test
+  void getReadmePath_missingReadme() {
+    assertThat(ComponentAssets.of("classpath:/templates/components/bootstrap/alerts/alerts.html")
+        .flatMap(ComponentAssets::getReadmePath)).isEmpty();
+  }
+
+  @Test
+  void of_insideOfAJar(@TempDir Path dir) throws Exception {
+    Path jar = dir.resolve("components.jar");
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+      for (String name : new String[] {"components/", "components/tabs/", "components/tabs/tabs.html",
+          "components/tabs/README.md", "components/tabs/variants/", "components/tabs/variants/dark.html"}) {
+        out.putNextEntry(new JarEntry(name));
+        if (!name.endsWith("/")) {
+          out.write(name.getBytes(UTF_8));
+        }
+        out.closeEntry();
+      }
+    }
+
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+      Optional<ComponentAssets> assets = ComponentAssets.of("classpath:/components/tabs/tabs.html",
+          new PathMatchingResourcePatternResolver(classLoader));
+
+      assertThat(assets).hasValueSatisfying(a -> {
+        assertThat(a.getFiles()).containsExactly("README.md", "tabs.html");
+        assertThat(a.getReadmePath()).contains("classpath:/components/tabs/README.md");
+      });
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestInterceptorTest {
+
+  private static final PatternLibraryPage INDEX = new PatternLibraryPage(Kind.INDEX, "/docs/intro.md", "/", "index");
+  private static final PatternLibraryPage DOCS = new PatternLibraryPage(Kind.DOCS, "/docs/bootstrap.md",
+      "/docs?title=Bootstrap&docPath=/docs/bootstrap.md", "docs");
+  private static final PatternLibraryPage DETAILS = new PatternLibraryPage(Kind.DETAILS, "/bootstrap/alerts",
+      "/?uri=/bootstrap/alerts", "details");
+  private static final PatternLibraryPage EXAMPLE = new PatternLibraryPage(Kind.EXAMPLE, "/bootstrap/alerts",
+      "/bootstrap/alerts", "example");
+
+  private static final Snapshot SNAPSHOT = new Snapshot(Collections.emptyList(),
+      Arrays.asList(INDEX, DOCS, DETAILS, EXAMPLE));
+
+  @Test
+  void findPage() {
+    assertThat(findPage("/", "uri", "/bootstrap/alerts")).contains(DETAILS);
+    assertThat(findPage("/", "uri", "/unknown")).contains(INDEX);
+    assertThat(findPage("/docs", "docPath", "/docs/bootstrap.md")).contains(DOCS);
+    assertThat(findPage("/docs", "docPath", "/docs/unknown.md")).isEmpty();
+    assertThat(findPage("/bootstrap/alerts", "foo", "bar")).contains(EXAMPLE);
+    assertThat(findPage("/css/main.css", "foo", "bar")).isEmpty();
+  }
+
+  @Test
+  void etag_dependsOnQueryString() {
+    assertThat(ConditionalRequestInterceptor.etag(EXAMPLE, null)).isEqualTo("\"example\"");
+    assertThat(ConditionalRequestInterceptor.etag(DOCS, "title=A"))
+        .isNotEqualTo(ConditionalRequestInterceptor.etag(DOCS, "title=B"))
+        .startsWith("\"").endsWith("\"");
+  }
+
+  @Test
+  void preHandle_onlyAnswersCacheablePagesWith304() {
+    PatternLibraryPage dynamicExample = new PatternLibraryPage(Kind.EXAMPLE, "/bootstrap/badges", "/bootstrap/badges",
+        false, () -> "badges");
+    PatternLibraryRegistry registry = new PatternLibraryRegistry();
+    ReflectionTestUtils.setField(registry, "snapshot", new Snapshot(Collections.emptyList(),
+        Arrays.asList(DETAILS, EXAMPLE, dynamicExample)));
+    ConditionalRequestInterceptor interceptor = new ConditionalRequestInterceptor();
+    ReflectionTestUtils.setField(interceptor, "registry", registry);
+    ReflectionTestUtils.setField(interceptor, "renderer", new ExampleRenderer());
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(interceptor.preHandle(conditionalGet("/bootstrap/alerts", EXAMPLE), response, null)).isFalse();
+    assertThat(response.getStatus()).isEqualTo(304);
+
+    response = new MockHttpServletResponse();
+    assertThat(interceptor.preHandle(conditionalGet("/bootstrap/badges", dynamicExample), response, null)).isTrue();
+    assertThat(response.getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  void isCacheable_detailsWithDynamicExamplesOnlyIfRenderedAsIframes() {
+    PatternLibraryPage details = new PatternLibraryPage(Kind.DETAILS, "/bootstrap/alerts", "/?uri=/bootstrap/alerts",
+        false, () -> "details");
+    ConditionalRequestInterceptor interceptor = new ConditionalRequestInterceptor();
+    ReflectionTestUtils.setField(interceptor, "renderer", new ExampleRenderer());
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.setParameter("render", ExampleRenderer.INLINE);
+    assertThat(interceptor.isCacheable(details, request)).isFalse();
+    assertThat(interceptor.isCacheable(DETAILS, request)).isTrue();
+
+    request.setParameter("render", ExampleRenderer.IFRAME);
+    assertThat(interceptor.isCacheable(details, request)).isTrue();
+  }
+
+  private static MockHttpServletRequest conditionalGet(String path, PatternLibraryPage page) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, ConditionalRequestInterceptor.etag(page, null));
+    return request;
+  }
+
+  private static Optional<PatternLibraryPage> findPage(String path, String param, String value) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+    request.setParameter(param, value);
+    return ConditionalRequestInterceptor.findPage(SNAPSHOT, path, request);
+  }
+}
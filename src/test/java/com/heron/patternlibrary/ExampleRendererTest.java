@@ -0,0 +1,122 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+import com.heron.patternlibrary.cache.DocumentationCache;
+import com.heron.patternlibrary.cache.ExampleHtmlCache;
+import com.heron.patternlibrary.cache.TemplateSourceCache;
+import com.heron.patternlibrary.metrics.ExampleRenderMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExampleRendererTest {
+
+  private static final DocumentationCache DOCUMENTATION = new DocumentationCache(10);
+  private static final TemplateSourceCache TEMPLATE_SOURCES = new TemplateSourceCache(10);
+
+  private final ExampleRenderer renderer = new ExampleRenderer();
+  private final PatternLibraryRegistry registry = new PatternLibraryRegistry();
+  private final ExampleRenderMetrics metrics = new ExampleRenderMetrics();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ExampleHtmlCache cache = new ExampleHtmlCache(10, 10_000);
+  private final AtomicInteger includes = new AtomicInteger();
+
+  private final PatternLibraryEntry alerts = new PatternLibraryEntry(
+      new PatternLibraryExample("Alerts", "/bootstrap/alerts", Optional.empty(), RenderBudget.NONE, true,
+          TEMPLATE_SOURCES),
+      List.of(new PatternLibraryExample("Dismissible", "/bootstrap/alerts--dismissible", Optional.empty(),
+          TEMPLATE_SOURCES)),
+      Optional.empty(), DOCUMENTATION);
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(registry, "snapshot", new Snapshot(
+        List.of(new PatternLibraryGroup("Bootstrap", "com.example.BootstrapController", Optional.empty(),
+            List.of(alerts), 1, DOCUMENTATION)),
+        List.of(new PatternLibraryPage(Kind.EXAMPLE, "/bootstrap/alerts", "/bootstrap/alerts", true, () -> "alerts"),
+            new PatternLibraryPage(Kind.EXAMPLE, "/bootstrap/alerts--dismissible", "/bootstrap/alerts--dismissible",
+                false, () -> "dismissible"))));
+    ReflectionTestUtils.setField(metrics, "meterRegistry", meterRegistry);
+    ReflectionTestUtils.setField(metrics, "registry", registry);
+    ReflectionTestUtils.setField(renderer, "metrics", metrics);
+    ReflectionTestUtils.setField(renderer, "streaming", new StreamingDialect());
+    ReflectionTestUtils.setField(renderer, "registry", registry);
+    ReflectionTestUtils.setField(renderer, "cache", cache);
+  }
+
+  @Test
+  void renderAll_recordsTheIncludesAndCachesCacheableExamples() {
+    assertThat(renderer.renderAll(alerts, request(), new MockHttpServletResponse()))
+        .containsEntry("/bootstrap/alerts", "<p>/bootstrap/alerts</p>")
+        .containsEntry("/bootstrap/alerts--dismissible", "<p>/bootstrap/alerts--dismissible</p>");
+    assertThat(includes).hasValue(2);
+    assertThat(meterRegistry.get("patternlibrary.example.render").timers()).hasSize(2);
+
+    // Only the cacheable example is taken from the cache, so it's neither rendered nor measured again
+    assertThat(renderer.renderAll(alerts, request(), new MockHttpServletResponse()))
+        .containsEntry("/bootstrap/alerts", "<p>/bootstrap/alerts</p>");
+    assertThat(includes).hasValue(3);
+    assertThat(meterRegistry.get("patternlibrary.example.render").tag("uri", "/bootstrap/alerts").timer().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("patternlibrary.example.render").tag("uri", "/bootstrap/alerts--dismissible")
+        .timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  void renderAll_lazilyRendersTheSameHtmlWhenStreaming() {
+    Map<String, String> eager = renderer.renderAll(alerts, request(), new MockHttpServletResponse());
+
+    StreamingDialect streaming = new StreamingDialect();
+    ReflectionTestUtils.setField(streaming, "enabled", true);
+    ReflectionTestUtils.setField(renderer, "streaming", streaming);
+    Map<String, String> lazy = renderer.renderAll(alerts, request(), new MockHttpServletResponse());
+    assertThat(includes).hasValue(2);
+
+    assertThat(lazy.get("/bootstrap/alerts--dismissible")).isEqualTo(eager.get("/bootstrap/alerts--dismissible"));
+    assertThat(includes).hasValue(3);
+    assertThat(lazy).isEqualTo(eager);
+    assertThat(lazy.keySet()).containsExactlyElementsOf(eager.keySet());
+    assertThat(lazy.get("/bootstrap/unknown")).isNull();
+    assertThat(includes).hasValue(3);
+  }
+
+  private MockHttpServletRequest request() {
+    return new MockHttpServletRequest("GET", "/") {
+      @Override
+      public RequestDispatcher getRequestDispatcher(String path) {
+        return new RequestDispatcher() {
+          @Override
+          public void forward(ServletRequest request, ServletResponse response) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public void include(ServletRequest request, ServletResponse response) throws IOException {
+            includes.incrementAndGet();
+            response.getWriter().write("<p>" + path + "</p>");
+          }
+        };
+      }
+    };
+  }
+}
@@ -0,0 +1,74 @@
+package com.heron.patternlibrary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImmutableAssetsInterceptorTest {
+
+  private final ImmutableAssetsInterceptor interceptor = new ImmutableAssetsInterceptor();
+  private final ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+  private final ResourceUrlProvider resourceUrlProvider = new ResourceUrlProvider();
+
+  @BeforeEach
+  void setUp(@TempDir Path dir) throws Exception {
+    Files.writeString(dir.resolve("bundle.css"), "body { color: red; }");
+    Files.writeString(dir.resolve("style-aiur.css"), "body { color: blue; }");
+
+    handler.setLocations(List.of(new FileSystemResource(dir.toString() + "/")));
+    handler.setResourceResolvers(List.of(new VersionResourceResolver().addContentVersionStrategy("/**"),
+        new PathResourceResolver()));
+    handler.setServletContext(new MockServletContext());
+    handler.afterPropertiesSet();
+    resourceUrlProvider.setHandlerMap(Map.of("/pattern-library/**", handler));
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("resourceUrlProvider", resourceUrlProvider);
+    ReflectionTestUtils.setField(interceptor, "resourceUrlProvider",
+        beanFactory.getBeanProvider(ResourceUrlProvider.class));
+  }
+
+  @Test
+  void preHandle_onlyTheCurrentFingerprintedUrlIsImmutable() {
+    String fingerprinted = resourceUrlProvider.getForLookupPath("/pattern-library/bundle.css");
+    assertThat(fingerprinted).matches("/pattern-library/bundle-[0-9a-f]{32}\\.css");
+    assertThat(cacheControl(fingerprinted)).isEqualTo(ImmutableAssetsInterceptor.IMMUTABLE);
+
+    assertThat(cacheControl("/pattern-library/bundle.css")).isNull();
+    assertThat(cacheControl("/pattern-library/bundle-0123456789abcdef0123456789abcdef.css")).isNull();
+    // A dash in the name of the file isn't a fingerprint
+    assertThat(cacheControl("/pattern-library/style-aiur.css")).isNull();
+  }
+
+  @Test
+  void preHandle_onlyAssets() {
+    String fingerprinted = resourceUrlProvider.getForLookupPath("/pattern-library/bundle.css");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    interceptor.preHandle(new MockHttpServletRequest("GET", fingerprinted), response, new Object());
+
+    assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+  }
+
+  private String cacheControl(String path) {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", path), response, handler)).isTrue();
+    return response.getHeader(HttpHeaders.CACHE_CONTROL);
+  }
+}
@@ -0,0 +1,24 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatternLibraryPageTest {
+
+  @Test
+  void getFingerprint_computedOnceWhenNeeded() {
+    AtomicInteger computed = new AtomicInteger();
+    PatternLibraryPage page = new PatternLibraryPage(Kind.EXAMPLE, "/bootstrap/alerts", "/bootstrap/alerts",
+        () -> "fingerprint" + computed.incrementAndGet());
+
+    assertThat(computed).hasValue(0);
+    assertThat(page.getFingerprint()).isEqualTo("fingerprint1");
+    assertThat(page.getFingerprint()).isEqualTo("fingerprint1");
+    assertThat(computed).hasValue(1);
+  }
+}
@@ -0,0 +1,84 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.cache.DocumentationCache;
+import com.heron.patternlibrary.cache.ResourceChangedEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatternLibraryPagesTest {
+
+  @TempDir
+  Path directory;
+
+  private final AtomicInteger resolved = new AtomicInteger();
+
+  private final PatternLibraryPages pages = new PatternLibraryPages();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    Files.createDirectories(directory.resolve("shared"));
+    Files.writeString(directory.resolve("shared/layout.html"), "<main></main>");
+    ReflectionTestUtils.setField(pages, "documentation", new DocumentationCache(10));
+    ReflectionTestUtils.setField(pages, "resourcePatternResolver", new PathMatchingResourcePatternResolver() {
+      @Override
+      public Resource[] getResources(String locationPattern) throws IOException {
+        // Not the lookups of the root directory of a pattern
+        if (locationPattern.endsWith("**")) {
+          resolved.incrementAndGet();
+        }
+        return super.getResources(locationPattern);
+      }
+    });
+    ReflectionTestUtils.setField(pages, "sharedLocations",
+        List.of(directory.resolve("shared").toUri() + "**"));
+  }
+
+  @Test
+  void getPages_keepsTheHashesAcrossSnapshots() {
+    String fingerprint = indexFingerprint();
+
+    assertThat(indexFingerprint()).isEqualTo(fingerprint);
+    assertThat(resolved).hasValue(1);
+  }
+
+  @Test
+  void onResourceChanged_hashesTheChangedLocationAgain() throws IOException {
+    String fingerprint = indexFingerprint();
+
+    Path layout = directory.resolve("shared/layout.html");
+    Files.writeString(layout, "<main>changed</main>");
+    pages.onResourceChanged(new ResourceChangedEvent(this, layout.toAbsolutePath().normalize()));
+
+    assertThat(indexFingerprint()).isNotEqualTo(fingerprint);
+    assertThat(resolved).hasValue(2);
+  }
+
+  @Test
+  void onResourceChanged_keepsTheHashesOfOtherLocations() throws IOException {
+    String fingerprint = indexFingerprint();
+
+    Path other = Files.writeString(directory.resolve("other.html"), "<p></p>");
+    pages.onResourceChanged(new ResourceChangedEvent(this, other.toAbsolutePath().normalize()));
+
+    assertThat(indexFingerprint()).isEqualTo(fingerprint);
+    assertThat(resolved).hasValue(1);
+  }
+
+  // Every call lists the pages of a new snapshot
+  private String indexFingerprint() {
+    return pages.getPages(List.of()).get(0).getFingerprint();
+  }
+}
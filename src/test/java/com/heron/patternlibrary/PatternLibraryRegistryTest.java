@@ -0,0 +1,141 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.cache.DocumentationCache;
+import com.heron.patternlibrary.cache.ResourceCache;
+import com.heron.patternlibrary.cache.TemplateSourceCache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatternLibraryRegistryTest {
+
+  private static final DocumentationCache DOCUMENTATION = new DocumentationCache(10);
+  private static final TemplateSourceCache TEMPLATE_SOURCES = new TemplateSourceCache(10);
+
+  private static PatternLibraryEntry entry(String name, String uri) {
+    return new PatternLibraryEntry(new PatternLibraryExample(name, uri, Optional.empty(), TEMPLATE_SOURCES), List.of(), Optional.empty(),
+        DOCUMENTATION);
+  }
+
+  private final PatternLibraryEntry alerts = entry("Alerts", "/bootstrap/alerts");
+  private final PatternLibraryEntry flexWrap = entry("Flex Wrap", "/containers/flex-wrap");
+
+  private final PatternLibraryRegistry.Snapshot snapshot = new PatternLibraryRegistry.Snapshot(List.of(
+      new PatternLibraryGroup("Bootstrap", "com.example.BootstrapController", Optional.empty(), List.of(alerts), 1, DOCUMENTATION),
+      new PatternLibraryGroup("Containers", "com.example.ContainersController", Optional.empty(), List.of(flexWrap), 2, DOCUMENTATION)));
+
+  @Test
+  void findEntry_byMainExampleUri() {
+    assertThat(snapshot.findEntry("/bootstrap/alerts")).containsSame(alerts);
+    assertThat(snapshot.findEntry("/containers/flex-wrap")).containsSame(flexWrap);
+  }
+
+  @Test
+  void findEntry_unknownOrMissingUri() {
+    assertThat(snapshot.findEntry("/bootstrap/unknown")).isEmpty();
+    assertThat(snapshot.findEntry(null)).isEmpty();
+  }
+
+  @Test
+  void findGroup_byName() {
+    assertThat(snapshot.findGroup("Containers").map(PatternLibraryGroup::getEntries)).contains(List.of(flexWrap));
+    assertThat(snapshot.findGroup("Unknown")).isEmpty();
+  }
+
+  @Test
+  void build_fromIndex() {
+    PatternLibraryIndex index = PatternLibraryIndex.parse(List.of(
+        "group\tcom.example.ContainersController\tContainers\t\t2",
+        "example\tcom.example.ContainersController\t/containers/flex-wrap\t\tFlex Wrap\tcomponents/flex-wrap/example",
+        "group\tcom.example.BootstrapController\tBootstrap\tbootstrap.md\t1",
+        "example\tcom.example.BootstrapController\t/bootstrap/pagination--last-page\tlast-page\tLast Page\tcomponents/pagination",
+        "example\tcom.example.BootstrapController\t/bootstrap/pagination\t\tPagination\tcomponents/pagination",
+        "example\tcom.example.BootstrapController\t/bootstrap/pagination--first-page\tfirst-page\tFirst Page\tcomponents/pagination",
+        "example\tcom.example.BootstrapController\t/bootstrap/alerts\t\tAlerts\t"));
+
+    PatternLibraryRegistry.Snapshot built = new PatternLibraryRegistry.Snapshot(
+        PatternLibraryRegistry.build(index, "/docs/", "/templates/", DOCUMENTATION, TEMPLATE_SOURCES));
+
+    assertThat(built.getGroups()).extracting(PatternLibraryGroup::getName).containsExactly("Bootstrap", "Containers");
+    assertThat(built.findGroup("Bootstrap").flatMap(PatternLibraryGroup::getDocPath)).contains("/docs/bootstrap.md");
+    assertThat(built.findGroup("Containers").flatMap(PatternLibraryGroup::getDocPath)).isEmpty();
+
+    PatternLibraryEntry pagination = built.findEntry("/bootstrap/pagination").get();
+    assertThat(pagination.getMainExample().getTemplatePath()).contains("/templates/components/pagination.html");
+    assertThat(pagination.getExamples()).extracting(PatternLibraryExample::getUri)
+        .containsExactly("/bootstrap/pagination--first-page", "/bootstrap/pagination--last-page");
+
+    assertThat(built.findEntry("/bootstrap/alerts").flatMap(e -> e.getMainExample().getTemplatePath())).isEmpty();
+    assertThat(built.findEntry("/bootstrap/pagination--last-page")).isEmpty();
+  }
+
+  @Test
+  void build_takesOverUnchangedGroups() {
+    PatternLibraryIndex index = PatternLibraryIndex.parse(List.of(
+        "group\tcom.example.ContainersController\tContainers\t\t2",
+        "example\tcom.example.ContainersController\t/containers/flex-wrap\t\tFlex Wrap\tcomponents/flex-wrap/example",
+        "group\tcom.example.BootstrapController\tBootstrap\t\t1",
+        "example\tcom.example.BootstrapController\t/bootstrap/alerts\t\tAlerts\tcomponents/alerts/alerts"));
+    PatternLibraryRegistry.Snapshot built = new PatternLibraryRegistry.Snapshot(
+        PatternLibraryRegistry.build(index, "/docs/", "/templates/", DOCUMENTATION, TEMPLATE_SOURCES));
+
+    PatternLibraryRegistry.Snapshot refreshed = new PatternLibraryRegistry.Snapshot(
+        PatternLibraryRegistry.build(index, "/docs/", "/templates/", DOCUMENTATION, TEMPLATE_SOURCES,
+            name -> name.equals("Containers") ? built.findGroup(name) : Optional.empty()));
+
+    assertThat(refreshed.findGroup("Containers").get()).isSameAs(built.findGroup("Containers").get());
+    assertThat(refreshed.findGroup("Bootstrap").get()).isNotSameAs(built.findGroup("Bootstrap").get());
+    assertThat(refreshed.getGroups()).extracting(PatternLibraryGroup::getName).containsExactly("Bootstrap", "Containers");
+  }
+
+  @Test
+  void refresh_keepsTheSnapshotBuiltBeforeTheApplicationWasReady() {
+    PatternLibraryRegistry registry = new PatternLibraryRegistry();
+    ReflectionTestUtils.setField(registry, "snapshot", snapshot);
+
+    registry.refresh();
+    assertThat(registry.getSnapshot()).isSameAs(snapshot);
+  }
+
+  @Test
+  void findGroups_ownersOfTheChangedFile() {
+    PatternLibraryEntry alerts = new PatternLibraryEntry(new PatternLibraryExample("Alerts", "/bootstrap/alerts",
+        Optional.of("classpath:/templates/components/bootstrap/alerts/alerts.html"), TEMPLATE_SOURCES), List.of(),
+        Optional.empty(), DOCUMENTATION);
+    PatternLibraryRegistry.Snapshot snapshot = new PatternLibraryRegistry.Snapshot(List.of(
+        new PatternLibraryGroup("Bootstrap", "com.example.BootstrapController", Optional.empty(), List.of(alerts), 1, DOCUMENTATION),
+        new PatternLibraryGroup("Containers", "com.example.ContainersController", Optional.empty(), List.of(flexWrap), 2, DOCUMENTATION)));
+    Path dir = ResourceCache.sourceOf("classpath:/templates/components/bootstrap/alerts/").get();
+
+    assertThat(PatternLibraryRegistry.findGroups(snapshot, dir.resolve("alerts.html"))).containsExactly("Bootstrap");
+    // e.g. a README which has just been created
+    assertThat(PatternLibraryRegistry.findGroups(snapshot, dir.resolve("README.md"))).containsExactly("Bootstrap");
+    assertThat(PatternLibraryRegistry.findGroups(snapshot, dir.resolveSibling("badges").resolve("badges.html"))).isEmpty();
+  }
+
+  @Test
+  void isDocument_onlyKnownDocs() {
+    PatternLibraryRegistry.Snapshot withDocs = new PatternLibraryRegistry.Snapshot(List.of(), List.of(
+        new PatternLibraryPage(PatternLibraryPage.Kind.INDEX, "/docs/intro.md", "/", ""),
+        new PatternLibraryPage(PatternLibraryPage.Kind.DOCS, "/docs/bootstrap.md", "/docs?docPath=/docs/bootstrap.md", ""),
+        new PatternLibraryPage(PatternLibraryPage.Kind.EXAMPLE, "/bootstrap/alerts", "/bootstrap/alerts", "")),
+        Set.of("/docs/getting-started.md"));
+
+    assertThat(withDocs.isDocument("/docs/intro.md")).isTrue();
+    assertThat(withDocs.isDocument("/docs/bootstrap.md")).isTrue();
+    assertThat(withDocs.isDocument("/docs/getting-started.md")).isTrue();
+    assertThat(withDocs.isDocument("/bootstrap/alerts")).isFalse();
+    assertThat(withDocs.isDocument("file:/etc/passwd")).isFalse();
+    assertThat(withDocs.isDocument(null)).isFalse();
+  }
+}
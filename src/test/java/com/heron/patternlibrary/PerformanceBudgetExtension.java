@@ -0,0 +1,138 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.metrics.HtmlElementCounter;
+
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Runs a {@code @TestTemplate} once for every example of the pattern library
+ * with the {@link ExampleRender} of the example, e.g.
+ *
+ * <pre>
+ * &#64;SpringBootTest
+ * &#64;ExtendWith(PerformanceBudgetExtension.class)
+ * class PerformanceBudgetsTest {
+ *   &#64;TestTemplate
+ *   void withinBudget(ExampleRender render) {
+ *     render.assertWithinBudget();
+ *   }
+ * }
+ * </pre>
+ */
+public class PerformanceBudgetExtension implements TestTemplateInvocationContextProvider {
+
+  @Override
+  public boolean supportsTestTemplate(ExtensionContext context) {
+    return true;
+  }
+
+  @Override
+  public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+    ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+    MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) applicationContext).build();
+
+    return applicationContext.getBean(PatternLibraryRegistry.class)
+        .getSnapshot()
+        .getGroups()
+        .stream()
+        .flatMap(group -> group.getEntries().stream())
+        .flatMap(entry -> Stream.concat(Stream.of(entry.getMainExample()), entry.getExamples().stream()))
+        .map(example -> invocation(example, mockMvc));
+  }
+
+  private static TestTemplateInvocationContext invocation(PatternLibraryExample example, MockMvc mockMvc) {
+    return new TestTemplateInvocationContext() {
+      @Override
+      public String getDisplayName(int invocationIndex) {
+        return example.getUri();
+      }
+
+      @Override
+      public List<Extension> getAdditionalExtensions() {
+        return Collections.singletonList(new ParameterResolver() {
+          @Override
+          public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+            return parameterContext.getParameter().getType() == ExampleRender.class;
+          }
+
+          @Override
+          public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+            return render(example, mockMvc);
+          }
+        });
+      }
+    };
+  }
+
+  private static ExampleRender render(PatternLibraryExample example, MockMvc mockMvc) {
+    try {
+      // The first render parses and caches the templates, which doesn't happen in production
+      mockMvc.perform(get(example.getUri()));
+
+      long start = System.nanoTime();
+      MvcResult result = mockMvc.perform(get(example.getUri())).andReturn();
+      long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      byte[] html = result.getResponse().getContentAsByteArray();
+      String content = result.getResponse().getContentAsString();
+      return new ExampleRender(example, result.getResponse().getStatus(), millis, html.length,
+          HtmlElementCounter.count(content));
+    } catch (Exception e) {
+      throw new IllegalStateException("Could not render example=" + example.getUri(), e);
+    }
+  }
+
+  public static class ExampleRender {
+    private final PatternLibraryExample example;
+    private final int status;
+    private final long renderMillis;
+    private final long htmlBytes;
+    private final long domNodes;
+
+    ExampleRender(PatternLibraryExample example, int status, long renderMillis, long htmlBytes, long domNodes) {
+      this.example = example;
+      this.status = status;
+      this.renderMillis = renderMillis;
+      this.htmlBytes = htmlBytes;
+      this.domNodes = domNodes;
+    }
+
+    public PatternLibraryExample getExample() {
+      return example;
+    }
+
+    public List<String> getViolations() {
+      return example.getBudget().getViolations(renderMillis, htmlBytes, domNodes);
+    }
+
+    public void assertWithinBudget() {
+      if (status != 200) {
+        throw new AssertionError("Example " + example.getUri() + " responded with status " + status);
+      }
+      List<String> violations = getViolations();
+      if (!violations.isEmpty()) {
+        throw new AssertionError("Example " + example.getUri() + " exceeds its " + example.getBudget() + ": "
+            + String.join(", ", violations));
+      }
+    }
+  }
+}
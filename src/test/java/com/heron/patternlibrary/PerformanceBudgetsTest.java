@@ -0,0 +1,17 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PerformanceBudgetExtension.ExampleRender;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+@ExtendWith(PerformanceBudgetExtension.class)
+class PerformanceBudgetsTest {
+
+  @TestTemplate
+  void renderWithinBudget(ExampleRender render) {
+    render.assertWithinBudget();
+  }
+}
@@ -0,0 +1,120 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+import com.heron.patternlibrary.cache.CompressedPageCache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrecompressedPageFilterTest {
+
+  private static final PatternLibraryPage DETAILS = new PatternLibraryPage(Kind.DETAILS, "/bootstrap/alerts",
+      "/?uri=/bootstrap/alerts", "details");
+
+  @Test
+  void acceptsGzip() {
+    assertThat(PrecompressedPageFilter.acceptsGzip("gzip, deflate, br")).isTrue();
+    assertThat(PrecompressedPageFilter.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+    assertThat(PrecompressedPageFilter.acceptsGzip("*")).isTrue();
+    assertThat(PrecompressedPageFilter.acceptsGzip("gzip;q=0")).isFalse();
+    assertThat(PrecompressedPageFilter.acceptsGzip("*, gzip;q=0")).isFalse();
+    assertThat(PrecompressedPageFilter.acceptsGzip("*;q=0, gzip")).isTrue();
+    assertThat(PrecompressedPageFilter.acceptsGzip("deflate, br")).isFalse();
+    assertThat(PrecompressedPageFilter.acceptsGzip("identity")).isFalse();
+    assertThat(PrecompressedPageFilter.acceptsGzip(null)).isFalse();
+  }
+
+  @Test
+  void gzipEtag_differsFromIdentityEtag() {
+    assertThat(PrecompressedPageFilter.gzipEtag("\"abc\"")).isEqualTo("\"abc-gzip\"");
+  }
+
+  @Test
+  void streamedPage_isSentWhileRenderedAndCompressedForTheNextRequest() throws Exception {
+    PatternLibraryRegistry registry = new PatternLibraryRegistry();
+    ReflectionTestUtils.setField(registry, "snapshot", new Snapshot(Collections.emptyList(),
+        Collections.singletonList(DETAILS)));
+    ConditionalRequestInterceptor conditionalRequests = new ConditionalRequestInterceptor();
+    ReflectionTestUtils.setField(conditionalRequests, "registry", registry);
+    ReflectionTestUtils.setField(conditionalRequests, "renderer", new ExampleRenderer());
+    StreamingDialect streaming = new StreamingDialect();
+    ReflectionTestUtils.setField(streaming, "enabled", true);
+
+    PrecompressedPageFilter filter = new PrecompressedPageFilter();
+    ReflectionTestUtils.setField(filter, "registry", registry);
+    ReflectionTestUtils.setField(filter, "cache", new CompressedPageCache(10));
+    ReflectionTestUtils.setField(filter, "conditionalRequests", conditionalRequests);
+    ReflectionTestUtils.setField(filter, "streaming", streaming);
+    RenderedPageEtagFilter etagFilter = new RenderedPageEtagFilter();
+    ReflectionTestUtils.setField(etagFilter, "registry", registry);
+    ReflectionTestUtils.setField(etagFilter, "conditionalRequests", conditionalRequests);
+    ReflectionTestUtils.setField(etagFilter, "streaming", streaming);
+
+    List<String> flushed = new ArrayList<>();
+    MockHttpServletResponse response = new MockHttpServletResponse() {
+      @Override
+      public void flushBuffer() {
+        super.flushBuffer();
+        flushed.add(new String(getContentAsByteArray(), UTF_8));
+      }
+    };
+    new MockFilterChain(new StreamedPage(), filter, etagFilter).doFilter(detailsRequest(), response);
+
+    assertThat(flushed).containsExactly("<p>head</p>");
+    assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"details\"");
+    assertThat(response.getContentAsString()).isEqualTo("<p>head</p><p>body</p>");
+
+    response = new MockHttpServletResponse();
+    new MockFilterChain(new StreamedPage(), filter, etagFilter).doFilter(detailsRequest(), response);
+
+    assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"details-gzip\"");
+    assertThat(gunzip(response.getContentAsByteArray())).isEqualTo("<p>head</p><p>body</p>");
+  }
+
+  private static MockHttpServletRequest detailsRequest() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.setParameter("uri", "/bootstrap/alerts");
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+    return request;
+  }
+
+  private static String gunzip(byte[] compressed) throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return StreamUtils.copyToString(in, UTF_8);
+    }
+  }
+
+  private static class StreamedPage extends HttpServlet {
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+        throws ServletException, IOException {
+      response.setContentType("text/html;charset=UTF-8");
+      response.getWriter().write("<p>head</p>");
+      response.flushBuffer();
+      response.getWriter().write("<p>body</p>");
+    }
+  }
+}
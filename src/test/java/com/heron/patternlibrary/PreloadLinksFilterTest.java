@@ -0,0 +1,17 @@
+package com.heron.patternlibrary;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreloadLinksFilterTest {
+
+  @Test
+  void link_declaresTheDestination() {
+    assertThat(PreloadLinksFilter.link("/pattern-library/bundle-abc.css"))
+        .contains("</pattern-library/bundle-abc.css>; rel=preload; as=style");
+    assertThat(PreloadLinksFilter.link("/webjars/jquery/3.5.1/dist/jquery.slim.min-abc.js"))
+        .contains("</webjars/jquery/3.5.1/dist/jquery.slim.min-abc.js>; rel=preload; as=script");
+    assertThat(PreloadLinksFilter.link("/pattern-library/logo.svg")).isEmpty();
+  }
+}
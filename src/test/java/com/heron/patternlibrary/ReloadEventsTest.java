@@ -0,0 +1,52 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ReloadEventsTest {
+
+  private final ReloadEvents reloadEvents = new ReloadEvents();
+  private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(reloadEvents).build();
+  private final Snapshot snapshot = new Snapshot(List.of());
+
+  @Test
+  void subscribe_startsWithTheIdOfThisInstance() throws Exception {
+    MockHttpServletResponse response = subscribe();
+
+    assertThat(response.getContentType()).startsWith("text/event-stream");
+    assertThat(response.getContentAsString())
+        .isEqualTo("event:hello\ndata:" + ReflectionTestUtils.getField(reloadEvents, "instanceId") + "\n\n");
+  }
+
+  @Test
+  void onRegistryRefreshed_reloadsEveryPageWithTheChangedGroups() throws Exception {
+    MockHttpServletResponse first = subscribe();
+    MockHttpServletResponse second = subscribe();
+
+    reloadEvents.onRegistryRefreshed(new RegistryRefreshedEvent(this, snapshot, snapshot,
+        Set.of("Bootstrap"), false));
+    reloadEvents.onRegistryRefreshed(new RegistryRefreshedEvent(this, snapshot, snapshot, Set.of(), true));
+
+    assertThat(first.getContentAsString()).endsWith("event:reload\ndata:Bootstrap\n\nevent:reload\ndata:*\n\n");
+    assertThat(second.getContentAsString()).endsWith("event:reload\ndata:Bootstrap\n\nevent:reload\ndata:*\n\n");
+  }
+
+  private MockHttpServletResponse subscribe() throws Exception {
+    return mockMvc.perform(get(ReloadEvents.PATH))
+        .andExpect(request().asyncStarted())
+        .andReturn()
+        .getResponse();
+  }
+}
@@ -0,0 +1,23 @@
+package com.heron.patternlibrary;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderBudgetTest {
+
+  @Test
+  void getViolations_onlyForExceededLimits() {
+    RenderBudget budget = new RenderBudget(100, 1000, 0);
+
+    assertThat(budget.getViolations(100, 1000, 5000)).isEmpty();
+    assertThat(budget.getViolations(101, 2000, 5000))
+        .containsExactly("render time 101 ms > 100 ms", "HTML size 2000 bytes > 1000 bytes");
+  }
+
+  @Test
+  void none_isNeverExceeded() {
+    assertThat(RenderBudget.NONE.isDefined()).isFalse();
+    assertThat(RenderBudget.NONE.getViolations(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE)).isEmpty();
+  }
+}
@@ -0,0 +1,59 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderedPageEtagFilterTest {
+
+  private final RenderedPageEtagFilter filter = new RenderedPageEtagFilter();
+  private final StreamingDialect streaming = new StreamingDialect();
+
+  @BeforeEach
+  void setUp() {
+    PatternLibraryRegistry registry = new PatternLibraryRegistry();
+    ReflectionTestUtils.setField(registry, "snapshot", new Snapshot(Collections.emptyList(), Arrays.asList(
+        new PatternLibraryPage(Kind.DETAILS, "/bootstrap/alerts", "/?uri=/bootstrap/alerts", false, () -> "details"),
+        new PatternLibraryPage(Kind.EXAMPLE, "/bootstrap/alerts", "/bootstrap/alerts", false, () -> "example"))));
+    ConditionalRequestInterceptor conditionalRequests = new ConditionalRequestInterceptor();
+    ReflectionTestUtils.setField(conditionalRequests, "registry", registry);
+    ReflectionTestUtils.setField(conditionalRequests, "renderer", new ExampleRenderer());
+    ReflectionTestUtils.setField(filter, "registry", registry);
+    ReflectionTestUtils.setField(filter, "conditionalRequests", conditionalRequests);
+    ReflectionTestUtils.setField(filter, "streaming", streaming);
+  }
+
+  @Test
+  void shouldNotFilter_streamedPages() {
+    assertThat(filter.shouldNotFilter(inlineDetails())).isFalse();
+
+    ReflectionTestUtils.setField(streaming, "enabled", true);
+    assertThat(filter.shouldNotFilter(inlineDetails())).isTrue();
+    // An example is buffered anyway, it is rendered into the details page or cached
+    assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/bootstrap/alerts"))).isFalse();
+  }
+
+  @Test
+  void shouldNotFilter_cacheablePages() {
+    // Without inline examples the details page has an ETag of its own
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.setParameter("uri", "/bootstrap/alerts");
+    assertThat(filter.shouldNotFilter(request)).isTrue();
+  }
+
+  private static MockHttpServletRequest inlineDetails() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.setParameter("uri", "/bootstrap/alerts");
+    request.setParameter("render", ExampleRenderer.INLINE);
+    return request;
+  }
+}
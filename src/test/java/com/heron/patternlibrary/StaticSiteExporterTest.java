@@ -0,0 +1,49 @@
+package com.heron.patternlibrary;
+
+import com.heron.patternlibrary.PatternLibraryPage.Kind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticSiteExporterTest {
+
+  @Test
+  void exportedUrl_perKind() {
+    assertThat(StaticSiteExporter.exportedUrl(new PatternLibraryPage(Kind.INDEX, "/docs/intro.md", "/", "")))
+        .isEqualTo("/");
+    assertThat(StaticSiteExporter.exportedUrl(new PatternLibraryPage(Kind.DOCS, "/docs/bootstrap.md",
+        "/docs?title=Bootstrap&docPath=/docs/bootstrap.md", ""))).isEqualTo("/docs/bootstrap/");
+    assertThat(StaticSiteExporter.exportedUrl(new PatternLibraryPage(Kind.DETAILS, "/bootstrap/alerts",
+        "/?uri=/bootstrap/alerts", ""))).isEqualTo("/library/bootstrap/alerts/");
+    assertThat(StaticSiteExporter.exportedUrl(new PatternLibraryPage(Kind.EXAMPLE, "/bootstrap/alerts--dark",
+        "/bootstrap/alerts--dark", ""))).isEqualTo("/bootstrap/alerts--dark/");
+  }
+
+  @Test
+  void rewriteLinks_toExportedPagesAndCollectsAssets() {
+    Map<String, String> exportedUrls = Map.of(
+        "/docs?title=Bootstrap&docPath=/docs/bootstrap.md", "/docs/bootstrap/",
+        "/bootstrap/alerts", "/bootstrap/alerts/");
+    Set<String> assets = new HashSet<>();
+
+    String html = StaticSiteExporter.rewriteLinks(
+        "<a href=\"/docs?title=Bootstrap&amp;docPath=/docs/bootstrap.md\">Bootstrap</a>"
+            + "<iframe src=\"/bootstrap/alerts\"></iframe>"
+            + "<link href=\"/pattern-library/bundle-abc123.css\" rel=\"stylesheet\">"
+            + "<script src=\"https://code.jquery.com/jquery.js\"></script>"
+            + "<a href=\"\">1</a>",
+        exportedUrls, assets);
+
+    assertThat(html).isEqualTo("<a href=\"/docs/bootstrap/\">Bootstrap</a>"
+        + "<iframe src=\"/bootstrap/alerts/\"></iframe>"
+        + "<link href=\"/pattern-library/bundle-abc123.css\" rel=\"stylesheet\">"
+        + "<script src=\"https://code.jquery.com/jquery.js\"></script>"
+        + "<a href=\"\">1</a>");
+    assertThat(assets).containsExactly("/pattern-library/bundle-abc123.css");
+  }
+}
@@ -0,0 +1,69 @@
+package com.heron.patternlibrary;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.WebContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingDialectTest {
+
+  private static final String TEMPLATE = "<p>before</p><pl:flush/><p>after</p>";
+
+  private final List<String> flushed = new ArrayList<>();
+
+  @Test
+  void flush_sendsWhatHasBeenRenderedSoFar() throws IOException {
+    MockHttpServletResponse response = render(true);
+
+    assertThat(flushed).containsExactly("<p>before</p>");
+    assertThat(response.getContentAsString()).isEqualTo("<p>before</p><p>after</p>");
+  }
+
+  @Test
+  void flush_isRemovedWithoutFlushingWhenDisabled() throws IOException {
+    MockHttpServletResponse response = render(false);
+
+    assertThat(flushed).isEmpty();
+    assertThat(response.getContentAsString()).isEqualTo("<p>before</p><p>after</p>");
+  }
+
+  private MockHttpServletResponse render(boolean enabled) throws IOException {
+    StreamingDialect dialect = new StreamingDialect();
+    ReflectionTestUtils.setField(dialect, "enabled", enabled);
+    TemplateEngine engine = new TemplateEngine();
+    engine.addDialect(dialect);
+
+    MockHttpServletResponse response = new MockHttpServletResponse() {
+      @Override
+      public void flushBuffer() {
+        super.flushBuffer();
+        flushed.add(getContentAsString());
+      }
+
+      @Override
+      public String getContentAsString() {
+        try {
+          return super.getContentAsString();
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    };
+    MockServletContext servletContext = new MockServletContext();
+    MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
+    PrintWriter writer = response.getWriter();
+    engine.process(TEMPLATE, new WebContext(request, response, servletContext), writer);
+    writer.flush();
+    return response;
+  }
+}
@@ -0,0 +1,82 @@
+package com.heron.patternlibrary.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+  @Test
+  void get_loadsOnlyOnce() {
+    BoundedCache<String, String> cache = new BoundedCache<>(10);
+    AtomicInteger loads = new AtomicInteger();
+
+    assertThat(cache.get("a", key -> key + loads.incrementAndGet())).isEqualTo("a1");
+    assertThat(cache.get("a", key -> key + loads.incrementAndGet())).isEqualTo("a1");
+
+    assertThat(loads).hasValue(1);
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(1);
+  }
+
+  @Test
+  void get_evictsLeastRecentlyUsed() {
+    BoundedCache<String, String> cache = new BoundedCache<>(2);
+    cache.get("a", key -> key);
+    cache.get("b", key -> key);
+    cache.get("a", key -> key);
+    cache.get("c", key -> key);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("a", key -> "reloaded")).isEqualTo("a");
+    assertThat(cache.get("b", key -> "reloaded")).isEqualTo("reloaded");
+  }
+
+  @Test
+  void invalidateIf_removesMatchingEntries() {
+    BoundedCache<String, String> cache = new BoundedCache<>(10);
+    cache.get("docs/a.md", key -> key);
+    cache.get("docs/b.md", key -> key);
+
+    cache.invalidateIf(e -> e.getKey().endsWith("a.md"));
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.get("docs/a.md", key -> "reloaded")).isEqualTo("reloaded");
+  }
+
+  @Test
+  void get_doesNotCacheValueLoadedWhileInvalidated() {
+    BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+    String loaded = cache.get("docs/a.md", key -> {
+      // The file changes while the outdated content is being read
+      cache.invalidateIf(e -> e.getKey().equals(key));
+      return "outdated";
+    });
+
+    assertThat(loaded).isEqualTo("outdated");
+    assertThat(cache.get("docs/a.md", key -> "reloaded")).isEqualTo("reloaded");
+  }
+
+  @Test
+  void put_evictsLeastRecentlyUsedUntilWithinMaxWeight() {
+    BoundedCache<String, String> cache = new BoundedCache<>(10, 10, String::length);
+    cache.put("a", "aaaa");
+    cache.put("b", "bbbb");
+    cache.getIfPresent("a");
+    cache.put("c", "cccc");
+
+    assertThat(cache.getWeight()).isEqualTo(8);
+    assertThat(cache.getIfPresent("a")).isEqualTo("aaaa");
+    assertThat(cache.getIfPresent("b")).isNull();
+
+    cache.invalidate("a");
+    assertThat(cache.getWeight()).isEqualTo(4);
+
+    cache.put("d", "dddddddddddd");
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getWeight()).isZero();
+  }
+}
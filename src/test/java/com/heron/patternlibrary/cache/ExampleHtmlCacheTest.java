@@ -0,0 +1,81 @@
+package com.heron.patternlibrary.cache;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+import com.heron.patternlibrary.RegistryRefreshedEvent;
+import com.heron.patternlibrary.cache.ExampleHtmlCache.RenderedExample;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExampleHtmlCacheTest {
+
+  private static final DocumentationCache DOCUMENTATION = new DocumentationCache(10);
+  private static final TemplateSourceCache TEMPLATE_SOURCES = new TemplateSourceCache(10);
+
+  private final ExampleHtmlCache cache = new ExampleHtmlCache(10, 1024);
+
+  @Test
+  void onRegistryRefreshed_dropsOnlyTheExamplesOfTheChangedGroups() {
+    Snapshot previous = snapshot(bootstrap(entry("Alerts", "/bootstrap/alerts",
+        example("Dismissible", "/bootstrap/alerts--dismissible"))), forms(entry("Inputs", "/forms/inputs")));
+    put("/bootstrap/alerts", "/bootstrap/alerts--dismissible", "/forms/inputs");
+
+    // The variant has been removed, so it's only part of the previous snapshot
+    Snapshot refreshed = snapshot(bootstrap(entry("Alerts", "/bootstrap/alerts")),
+        forms(entry("Inputs", "/forms/inputs")));
+    cache.onRegistryRefreshed(new RegistryRefreshedEvent(this, previous, refreshed, Set.of("Bootstrap"), false));
+
+    assertThat(cache.get(ExampleHtmlCache.key("/bootstrap/alerts", "f"))).isEmpty();
+    assertThat(cache.get(ExampleHtmlCache.key("/bootstrap/alerts--dismissible", "f"))).isEmpty();
+    assertThat(cache.get(ExampleHtmlCache.key("/forms/inputs", "f"))).isPresent();
+  }
+
+  @Test
+  void onRegistryRefreshed_fullRefreshDropsAllExamples() {
+    Snapshot snapshot = snapshot(bootstrap(entry("Alerts", "/bootstrap/alerts")),
+        forms(entry("Inputs", "/forms/inputs")));
+    put("/bootstrap/alerts", "/forms/inputs");
+
+    cache.onRegistryRefreshed(new RegistryRefreshedEvent(this, snapshot, snapshot, Set.of(), true));
+
+    assertThat(cache.getCache().size()).isZero();
+  }
+
+  private void put(String... uris) {
+    for (String uri : uris) {
+      cache.put(ExampleHtmlCache.key(uri, "f"), new RenderedExample(uri.getBytes(UTF_8), "text/html"));
+    }
+  }
+
+  private static Snapshot snapshot(PatternLibraryGroup... groups) {
+    return new Snapshot(Arrays.asList(groups));
+  }
+
+  private static PatternLibraryGroup bootstrap(PatternLibraryEntry... entries) {
+    return new PatternLibraryGroup("Bootstrap", "com.example.BootstrapController", Optional.empty(),
+        Arrays.asList(entries), 1, DOCUMENTATION);
+  }
+
+  private static PatternLibraryGroup forms(PatternLibraryEntry... entries) {
+    return new PatternLibraryGroup("Forms", "com.example.FormsController", Optional.empty(),
+        Arrays.asList(entries), 2, DOCUMENTATION);
+  }
+
+  private static PatternLibraryEntry entry(String name, String uri, PatternLibraryExample... variants) {
+    return new PatternLibraryEntry(example(name, uri), List.of(variants), Optional.empty(), DOCUMENTATION);
+  }
+
+  private static PatternLibraryExample example(String name, String uri) {
+    return new PatternLibraryExample(name, uri, Optional.empty(), TEMPLATE_SOURCES);
+  }
+}
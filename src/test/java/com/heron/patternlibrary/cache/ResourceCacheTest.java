@@ -0,0 +1,48 @@
+package com.heron.patternlibrary.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceCacheTest {
+
+  private final DocumentationCache cache = new DocumentationCache(1);
+
+  @Test
+  void get_sharesTheEntryOfTheSameResource() {
+    assertThat(cache.get("classpath:/docs/intro.md")).isPresent();
+    assertThat(cache.get("classpath:docs/intro.md")).isPresent();
+    assertThat(cache.get("/docs/intro.md")).isPresent();
+
+    assertThat(cache.getCache().size()).isEqualTo(1);
+    assertThat(cache.getCache().getHits()).isEqualTo(2);
+  }
+
+  @Test
+  void get_missesDontEvictValues() {
+    cache.get("/docs/intro.md");
+    assertThat(cache.get("/docs/missing.md")).isEmpty();
+    assertThat(cache.get("/docs/also-missing.md")).isEmpty();
+
+    assertThat(cache.get("/docs/intro.md")).isPresent();
+    assertThat(cache.getCache().getHits()).isEqualTo(1);
+  }
+
+  @Test
+  void onResourceChanged_forgetsMisses(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("new.md");
+    String location = file.toUri().toString();
+    assertThat(cache.get(location)).isEmpty();
+
+    Files.writeString(file, "# New");
+    assertThat(cache.get(location)).isEmpty();
+
+    cache.onResourceChanged(new ResourceChangedEvent(this, file));
+    assertThat(cache.get(location).map(DocumentationCache.RenderedDocument::getHtml)).hasValue("<h1>New</h1>\n");
+  }
+}
@@ -0,0 +1,38 @@
+package com.heron.patternlibrary.components.bootstrap.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPaginationTest {
+  @Test
+  void create_forFirstPage() {
+    CursorPagination pagination = CursorPagination.create(null, "c20", true, c -> "?before=" + c, c -> "?after=" + c);
+
+    assertThat(pagination.getPrevious().getHref()).isEqualTo(null);
+    assertThat(pagination.getPrevious().isDisabled()).isTrue();
+
+    assertThat(pagination.getNext().getHref()).isEqualTo("?after=c20");
+    assertThat(pagination.getNext().isDisabled()).isFalse();
+  }
+
+  @Test
+  void create_forMiddlePage() {
+    CursorPagination pagination = CursorPagination.create("c21", "c40", true, c -> "?before=" + c, c -> "?after=" + c);
+
+    assertThat(pagination.getPrevious().getHref()).isEqualTo("?before=c21");
+    assertThat(pagination.getPrevious().isDisabled()).isFalse();
+
+    assertThat(pagination.getNext().getHref()).isEqualTo("?after=c40");
+    assertThat(pagination.getNext().isDisabled()).isFalse();
+  }
+
+  @Test
+  void create_forLastPage() {
+    CursorPagination pagination = CursorPagination.create("c41", "c45", false, c -> "?before=" + c, c -> "?after=" + c);
+
+    assertThat(pagination.getPrevious().getHref()).isEqualTo("?before=c41");
+    assertThat(pagination.getNext().getHref()).isEqualTo(null);
+    assertThat(pagination.getNext().isDisabled()).isTrue();
+  }
+}
@@ -2,7 +2,10 @@ package com.heron.patternlibrary.components.bootstrap.models;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 class PaginationTest {
   @Test
@@ -102,4 +105,72 @@ class PaginationTest {
     assertThat(page3.getHref()).isEqualTo("2");
     assertThat(page3.isCurrent()).isFalse();
   }
-}
\ No newline at end of file
+
+  @Test
+  void windowed_forMiddlePage() {
+    Pagination pagination = Pagination.windowed(41, 10, 1_000_000, 2, index -> Long.toString(index));
+
+    assertThat(pagination.getPrevious().getHref()).isEqualTo("40");
+    assertThat(pagination.getNext().getHref()).isEqualTo("42");
+    assertThat(pagination.getPages())
+        .extracting(page -> page.isEllipsis() ? "..." : page.getNumber() + (page.isCurrent() ? "*" : ""))
+        .containsExactly("1", "...", "40", "41", "42*", "43", "44", "...", "100000");
+  }
+
+  @Test
+  void windowed_forFirstAndLastPage() {
+    assertThat(Pagination.windowed(0, 10, 1_000, 2, Long::toString).getPages())
+        .extracting(page -> page.isEllipsis() ? "..." : Long.toString(page.getNumber()))
+        .containsExactly("1", "2", "3", "4", "5", "6", "7", "...", "100");
+
+    assertThat(Pagination.windowed(99, 10, 1_000, 2, Long::toString).getPages())
+        .extracting(page -> page.isEllipsis() ? "..." : Long.toString(page.getNumber()))
+        .containsExactly("1", "...", "94", "95", "96", "97", "98", "99", "100");
+  }
+
+  @Test
+  void windowed_withoutEllipsisWhenAllPagesFit() {
+    assertThat(Pagination.windowed(3, 10, 90, 2, Long::toString).getPages())
+        .extracting(Pagination.PageLink::getNumber)
+        .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+  }
+
+  @Test
+  void windowed_withTotalsBeyondIntRange() {
+    long totalItems = 10L * Integer.MAX_VALUE;
+    Pagination pagination = Pagination.windowed(Integer.MAX_VALUE, 2, totalItems, 1, Long::toString);
+
+    assertThat(pagination.getPages()).hasSize(7);
+    assertThat(pagination.getPages().get(3).getHref()).isEqualTo(Long.toString(Integer.MAX_VALUE));
+    assertThat(pagination.getPages().get(6).getNumber()).isEqualTo(5L * Integer.MAX_VALUE);
+  }
+
+  @Test
+  void windowed_createsLinksOnlyForVisiblePages() {
+    AtomicInteger created = new AtomicInteger();
+    Pagination pagination = Pagination.windowed(500_000, 1, 1_000_000, 3, index -> {
+      created.incrementAndGet();
+      return Long.toString(index);
+    });
+    pagination.getPages().forEach(page -> { });
+
+    // previous, next and the links of the window without the ellipses
+    assertThat(created.get()).isEqualTo(2 + 9);
+  }
+
+  @Test
+  void windowed_rejectsNegativeNeighbours() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> Pagination.windowed(0, 10, 100, -1, Long::toString))
+        .withMessageContaining("neighbours");
+  }
+
+  @Test
+  void pageLink_withoutIndex() {
+    Pagination.PageLink link = new Pagination.PageLink("/page/2", true);
+
+    assertThat(link.getHref()).isEqualTo("/page/2");
+    assertThat(link.isCurrent()).isTrue();
+    assertThat(link.isEllipsis()).isFalse();
+  }
+}
@@ -0,0 +1,44 @@
+package com.heron.patternlibrary.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = "spring.main.web-application-type=reactive")
+class ReactivePatternLibraryTest {
+
+  @Autowired
+  private WebTestClient client;
+
+  @Test
+  void details_rendersEveryVariant() {
+    String html = get("/?uri=/bootstrap/pagination");
+
+    assertThat(html).contains("/bootstrap/pagination").contains("/bootstrap/pagination--first-page")
+        .contains("/bootstrap/pagination--last-page");
+  }
+
+  @Test
+  void docs_unknownDocIsNotFound() {
+    client.get().uri("/docs?docPath=classpath:/application.properties").exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  void example_rendersTheModelAndViewOfAnUnchangedController() {
+    assertThat(get("/bootstrap/pagination")).contains("page-item");
+  }
+
+  private String get(String uri) {
+    return client.get().uri(uri).exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class)
+        .returnResult()
+        .getResponseBody();
+  }
+}
@@ -0,0 +1,110 @@
+package com.heron.patternlibrary.search;
+
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryEntry;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryExample;
+import com.heron.patternlibrary.PatternLibraryController.PatternLibraryGroup;
+import com.heron.patternlibrary.PatternLibraryRegistry;
+import com.heron.patternlibrary.PatternLibraryRegistry.Snapshot;
+import com.heron.patternlibrary.RegistryRefreshedEvent;
+import com.heron.patternlibrary.cache.DocumentationCache;
+import com.heron.patternlibrary.cache.TemplateSourceCache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatternLibrarySearchTest {
+
+  private static final DocumentationCache DOCUMENTATION = new DocumentationCache(10);
+  private static final TemplateSourceCache TEMPLATE_SOURCES = new TemplateSourceCache(10);
+
+  private final PatternLibraryRegistry registry = new PatternLibraryRegistry();
+  private final PatternLibrarySearch search = new PatternLibrarySearch();
+  private final SearchIndex index = (SearchIndex) ReflectionTestUtils.getField(search, "index");
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(search, "registry", registry);
+  }
+
+  @Test
+  void onRegistryRefreshed_updatesOnlyTheChangedComponents() {
+    refresh(bootstrap(entry("Alerts", "/bootstrap/alerts"), entry("Badges", "/bootstrap/badges")),
+        forms(entry("Inputs", "/forms/inputs")));
+    search.indexAll();
+    SearchDocument badges = index.getDocument("component:/bootstrap/badges").get();
+    Snapshot previous = registry.getSnapshot();
+
+    // A variant has been added to the alerts and the buttons are new, the badges are built again but unchanged
+    refresh(bootstrap(entry("Alerts", "/bootstrap/alerts", example("Dismissible", "/bootstrap/alerts--dismissible")),
+        entry("Badges", "/bootstrap/badges"), entry("Buttons", "/bootstrap/buttons")),
+        forms(entry("Inputs", "/forms/inputs"), entry("Selects", "/forms/selects")));
+    search.onRegistryRefreshed(new RegistryRefreshedEvent(registry, previous, registry.getSnapshot(),
+        Set.of("Bootstrap"), false));
+
+    assertThat(titles("dismiss")).containsExactly("Alerts");
+    assertThat(titles("buttons")).containsExactly("Buttons");
+    assertThat(index.getDocument("component:/bootstrap/badges")).containsSame(badges);
+    // The forms have not been refreshed, so they are not read at all
+    assertThat(titles("selects")).isEmpty();
+    assertThat(titles("inputs")).containsExactly("Inputs");
+
+    previous = registry.getSnapshot();
+    refresh(bootstrap(entry("Alerts", "/bootstrap/alerts")), forms(entry("Inputs", "/forms/inputs")));
+    search.onRegistryRefreshed(new RegistryRefreshedEvent(registry, previous, registry.getSnapshot(),
+        Set.of("Bootstrap"), false));
+
+    assertThat(titles("dismiss")).isEmpty();
+    assertThat(titles("badges")).isEmpty();
+    assertThat(titles("inputs")).containsExactly("Inputs");
+    assertThat(index.size()).isEqualTo(4);
+  }
+
+  @Test
+  void onRegistryRefreshed_fullRefreshRemovesMissingGroups() {
+    refresh(bootstrap(entry("Alerts", "/bootstrap/alerts")), forms(entry("Inputs", "/forms/inputs")));
+    search.indexAll();
+    Snapshot previous = registry.getSnapshot();
+
+    refresh(bootstrap(entry("Alerts", "/bootstrap/alerts")));
+    search.onRegistryRefreshed(new RegistryRefreshedEvent(registry, previous, registry.getSnapshot(),
+        Set.of(), true));
+
+    assertThat(titles("inputs")).isEmpty();
+    assertThat(index.size()).isEqualTo(2);
+  }
+
+  private void refresh(PatternLibraryGroup... groups) {
+    ReflectionTestUtils.setField(registry, "snapshot", new Snapshot(Arrays.asList(groups)));
+  }
+
+  private static PatternLibraryGroup bootstrap(PatternLibraryEntry... entries) {
+    return new PatternLibraryGroup("Bootstrap", "com.example.BootstrapController", Optional.empty(),
+        Arrays.asList(entries), 1, DOCUMENTATION);
+  }
+
+  private static PatternLibraryGroup forms(PatternLibraryEntry... entries) {
+    return new PatternLibraryGroup("Forms", "com.example.FormsController", Optional.empty(),
+        Arrays.asList(entries), 2, DOCUMENTATION);
+  }
+
+  private List<String> titles(String query) {
+    return index.search(query, 10).stream().map(result -> result.getDocument().getTitle()).collect(Collectors.toList());
+  }
+
+  private static PatternLibraryEntry entry(String name, String uri, PatternLibraryExample... variants) {
+    return new PatternLibraryEntry(example(name, uri), Arrays.asList(variants), Optional.empty(), DOCUMENTATION);
+  }
+
+  private static PatternLibraryExample example(String name, String uri) {
+    return new PatternLibraryExample(name, uri, Optional.empty(), TEMPLATE_SOURCES);
+  }
+}
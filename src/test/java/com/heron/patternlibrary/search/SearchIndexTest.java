@@ -0,0 +1,54 @@
+package com.heron.patternlibrary.search;
+
+import com.heron.patternlibrary.search.SearchIndex.Field;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+  private final SearchIndex index = new SearchIndex();
+
+  private void add(String id, String name, String documentation) {
+    index.update(new SearchDocument(id, SearchDocument.Kind.COMPONENT, name, "Bootstrap", "/?uri=/" + id),
+        List.of(new Field(name, 5), new Field(documentation, 1)));
+  }
+
+  @Test
+  void search_byPrefix_rankedByField() {
+    add("alerts", "Alerts", "<p>Shows a <em>pagination</em> hint</p>");
+    add("pagination", "Pagination", "Links to the pages of a result");
+
+    assertThat(index.search("pag", 10))
+        .extracting(result -> result.getDocument().getId())
+        .containsExactly("pagination", "alerts");
+  }
+
+  @Test
+  void search_requiresAllTerms() {
+    add("alerts", "Alerts", "Dismissible messages");
+    add("badges", "Badges", "Small messages");
+
+    assertThat(index.search("messages dismiss", 10))
+        .extracting(result -> result.getDocument().getId())
+        .containsExactly("alerts");
+    assertThat(index.search("", 10)).isEmpty();
+  }
+
+  @Test
+  void update_replacesTheTermsOfTheDocument() {
+    add("alerts", "Alerts", "Dismissible messages");
+    add("alerts", "Alerts", "Colorful boxes");
+
+    assertThat(index.search("dismissible", 10)).isEmpty();
+    assertThat(index.search("colorful", 10)).hasSize(1);
+    assertThat(index.size()).isEqualTo(1);
+
+    index.remove("alerts");
+    assertThat(index.search("alerts", 10)).isEmpty();
+    assertThat(index.size()).isZero();
+  }
+}